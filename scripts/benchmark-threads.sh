@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Compares platform and virtual thread request handling under many concurrent connections.
+# Starts the packaged application once per mode and drives GET /api/v1/services with wrk.
+# Halfway through each run the heap in use, the live threads and the virtual thread carriers are sampled.
+#
+# Requires Postgres and Keycloak to be running (docker compose up), wrk and jcmd on the PATH,
+# and TOKEN holding an access token of a user with the PROVIDER role.
+#
+# Usage: TOKEN=... scripts/benchmark-threads.sh [connections] [duration in seconds]
+# Raw results are written to target/benchmarks/threads-<mode>.txt, and one row per mode to
+# target/benchmarks/threads-summary.md, in the format of the results table in the README.
+set -euo pipefail
+
+CONNECTIONS=${1:-5000}
+DURATION=${2:-60}
+WRK_THREADS=${WRK_THREADS:-8}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+URL=$BASE_URL/api/v1/services?size=20
+OUT=target/benchmarks
+: "${TOKEN:?TOKEN must hold a PROVIDER access token}"
+
+# Every connection needs a file descriptor on both ends
+ulimit -n $((CONNECTIONS * 2 + 1024)) || echo "Could not raise the open file limit, wrk may fail to connect" >&2
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+mkdir -p "$OUT"
+SUMMARY=$OUT/threads-summary.md
+echo "| Mode | Connections | Requests/s | p99 latency | Heap used | Live threads | Carrier threads |" > "$SUMMARY"
+echo "|------|-------------|------------|-------------|-----------|--------------|-----------------|" >> "$SUMMARY"
+
+# metric <name> [tag] prints the value of an actuator metric
+metric() {
+    local query=${2:+?tag=$2}
+    curl -sf -H "Authorization: Bearer $TOKEN" "$BASE_URL/actuator/metrics/$1$query" \
+        | grep -o '"value":[0-9.E+-]*' | head -n 1 | cut -d: -f2
+}
+
+# run <mode> <jvm args> <application args>
+run() {
+    local mode=$1 jvm_args=$2 app_args=$3
+    # shellcheck disable=SC2086
+    java $jvm_args -jar "$JAR" $app_args > "$OUT/threads-$mode-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 60); do
+        curl -sf -o /dev/null -H "Authorization: Bearer $TOKEN" "$URL" && break
+        sleep 1
+    done
+
+    echo "== $mode threads, $CONNECTIONS connections"
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"${DURATION}s" --latency -H "Authorization: Bearer $TOKEN" "$URL" \
+        > "$OUT/threads-$mode.txt" &
+    local wrk_pid=$!
+
+    sleep $((DURATION / 2))
+    local heap threads carriers
+    heap=$(metric jvm.memory.used area:heap)
+    threads=$(metric jvm.threads.live)
+    # Virtual threads are mounted on the workers of their own fork-join pool
+    carriers=$(jcmd "$pid" Thread.print | grep -cE '^"ForkJoinPool-[0-9]+-worker' || true)
+    wait "$wrk_pid"
+    cat "$OUT/threads-$mode.txt"
+
+    local throughput p99
+    throughput=$(awk '/^Requests\/sec:/ {print $2}' "$OUT/threads-$mode.txt")
+    p99=$(awk '$1 == "99%" {print $2}' "$OUT/threads-$mode.txt")
+    printf '| %s | %s | %s | %s | %s MB | %s | %s |\n' "$mode" "$CONNECTIONS" "$throughput" "$p99" \
+        "$(awk -v bytes="${heap:-0}" 'BEGIN {printf "%.0f", bytes / 1048576}')" "${threads%.*}" "$carriers" >> "$SUMMARY"
+
+    kill "$pid"
+    wait "$pid" || true
+    trap - EXIT
+}
+
+run platform "" ""
+run virtual "-Djdk.tracePinnedThreads=short" "--spring.profiles.active=virtual-threads"
+
+echo "Pinned virtual thread reports: $(grep -c '<== monitors' "$OUT/threads-virtual-app.log" || true)"
+cat "$SUMMARY"
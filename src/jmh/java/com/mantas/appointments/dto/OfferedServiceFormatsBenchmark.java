@@ -0,0 +1,111 @@
+package com.mantas.appointments.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mantas.appointments.entity.Category;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks a 10k item listing in every representation the API negotiates, with and without gzip.
+ * The time per operation is the server CPU spent on the response, the {@code wireBytes} counter its size on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferedServiceFormatsBenchmark {
+
+    private static final int LIST_SIZE = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectWriter writer;
+    private List<OfferedServiceResponse> services;
+
+    /**
+     * Size of the written listing, reported next to the time per operation.
+     * JMH sums the counter over the measurement iterations, so every iteration reports its share of the size.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public double wireBytes;
+        private double share;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams iteration) {
+            wireBytes = 0;
+            share = iteration.getType() == IterationType.MEASUREMENT ? 1.0 / iteration.getCount() : 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        writer = Jackson2ObjectMapperBuilder.json().factory(factory).build().writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        services = new ArrayList<>(LIST_SIZE);
+        for (long id = 1; id <= LIST_SIZE; id++) {
+            services.add(OfferedServiceResponse.builder()
+                    .id(id)
+                    .name("Haircut " + id)
+                    .description("Classic haircut with wash and styling")
+                    .price(new BigDecimal("25.00"))
+                    .ownerId("provider-id")
+                    .category(Category.values()[(int) (id % Category.values().length)])
+                    .durationMinutes(45)
+                    .created(now)
+                    .updated(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList(WireSize wireSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            writer.writeValue(out, services);
+        }
+        wireSize.wireBytes = bytes.size() * wireSize.share;
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package com.mantas.appointments.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mantas.appointments.entity.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of {@link OfferedServiceResponse}, on its own and as a full listing page.
+ * The mapper is built the same way Spring Boot builds the one used by the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferedServiceJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+    private OfferedServiceResponse service;
+    private PageResponse<OfferedServiceResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OfferedServiceResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            content.add(OfferedServiceResponse.builder()
+                    .id(id)
+                    .name("Haircut " + id)
+                    .description("Classic haircut with wash and styling")
+                    .price(new BigDecimal("25.00"))
+                    .ownerId("provider-id")
+                    .category(Category.HAIRCARE)
+                    .durationMinutes(45)
+                    .created(now)
+                    .updated(now)
+                    .build());
+        }
+        service = content.getFirst();
+        page = new PageResponse<>(content, "MjA");
+    }
+
+    @Benchmark
+    public byte[] serializeService() throws Exception {
+        return writer.writeValueAsBytes(service);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
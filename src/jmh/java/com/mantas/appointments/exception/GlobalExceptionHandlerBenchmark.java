@@ -0,0 +1,71 @@
+package com.mantas.appointments.exception;
+
+import com.mantas.appointments.dto.OfferedServiceRequest;
+import jakarta.persistence.EntityNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the error responses of {@link GlobalExceptionHandler} for the most common failures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private MockHttpServletRequest request;
+    private MethodArgumentNotValidException validationException;
+    private EntityNotFoundException notFoundException;
+
+    @Setup
+    public void setUp() throws Exception {
+        request = new MockHttpServletRequest("POST", "/api/v1/services");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                OfferedServiceRequest.builder().build(), "offeredServiceRequest");
+        bindingResult.addError(new FieldError("offeredServiceRequest", "name", ErrorMessage.NAME_BLANK));
+        bindingResult.addError(new FieldError("offeredServiceRequest", "price", ErrorMessage.PRICE_NULL));
+        bindingResult.addError(new FieldError("offeredServiceRequest", "category", ErrorMessage.CATEGORY_NULL));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", OfferedServiceRequest.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+
+        notFoundException = new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + 1);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> handleValidationException() {
+        return handler.handleValidationExceptions(validationException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> handleEntityNotFoundException() {
+        return handler.handleEntityNotFoundException(notFoundException, request);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(OfferedServiceRequest request) {
+        // Only provides the method parameter a validation exception is reported for
+    }
+}
@@ -0,0 +1,70 @@
+package com.mantas.appointments.mapper;
+
+import com.mantas.appointments.dto.OfferedServiceRequest;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.entity.OfferedService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generated {@link OfferedServiceMapper} in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferedServiceMapperBenchmark {
+
+    private final OfferedServiceMapper mapper = new OfferedServiceMapperImpl();
+
+    private OfferedService entity;
+    private OfferedServiceRequest request;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        entity = OfferedService.builder()
+                .id(1L)
+                .name("Haircut")
+                .description("Classic haircut with wash and styling")
+                .price(new BigDecimal("25.00"))
+                .ownerId("provider-id")
+                .category(Category.HAIRCARE)
+                .durationMinutes(45)
+                .created(now)
+                .updated(now)
+                .build();
+        request = OfferedServiceRequest.builder()
+                .name("Haircut")
+                .description("Classic haircut with wash and styling")
+                .price(new BigDecimal("25.00"))
+                .category(Category.HAIRCARE)
+                .durationMinutes(45)
+                .build();
+    }
+
+    @Benchmark
+    public OfferedServiceResponse toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public OfferedService toEntity() {
+        return mapper.toEntity(request);
+    }
+}
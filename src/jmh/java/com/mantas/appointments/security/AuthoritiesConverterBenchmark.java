@@ -0,0 +1,54 @@
+package com.mantas.appointments.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SecurityConfig#realmRolesAuthoritiesConverter()}, which runs on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesConverterBenchmark {
+
+    private final AuthoritiesConverter converter = new SecurityConfig().realmRolesAuthoritiesConverter();
+
+    // Claims shaped like a Keycloak access token, including the default realm roles
+    private final Map<String, Object> claims = Map.of(
+            "sub", "provider-id",
+            "preferred_username", "provider",
+            "realm_access", Map.of("roles", List.of("PROVIDER", "offline_access", "uma_authorization", "default-roles-appointments")),
+            "resource_access", Map.of("account", Map.of("roles", List.of("manage-account", "view-profile")))
+    );
+
+    private final Map<String, Object> claimsWithoutRoles = Map.of(
+            "sub", "client-id",
+            "preferred_username", "client"
+    );
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertRealmRoles() {
+        return converter.convert(claims);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertWithoutRealmAccess() {
+        return converter.convert(claimsWithoutRoles);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.service.utils.StripedLocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmarks booking throughput of concurrent clients spread over a varying number of providers.
+ * Each booking holds its provider's lock while waiting a fixed time standing in for the database round trips
+ * of the transaction, as {@link AppointmentsService} does, so the score shows how much the per provider
+ * serialization costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class ProviderLocksBenchmark {
+
+    private static final int STRIPES = 256;
+    private static final long TRANSACTION_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"1", "4", "16", "64"})
+    public int providers;
+
+    private StripedLocks locks;
+    private String[] providerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        locks = new StripedLocks(STRIPES);
+        providerIds = new String[providers];
+        for (int i = 0; i < providers; i++) {
+            providerIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public void book() {
+        Lock lock = locks.get(providerIds[ThreadLocalRandom.current().nextInt(providers)]);
+        lock.lock();
+        try {
+            LockSupport.parkNanos(TRANSACTION_NANOS);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mantas.appointments.config;
+
+import com.mantas.appointments.service.utils.StripedLocks;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AppointmentsProperties.class)
+public class AppointmentsConfig {
+
+    /**
+     * Provides the locks serializing the bookings of the same provider within this instance.
+     *
+     * @param properties the {@link AppointmentsProperties} with the number of stripes
+     * @return the provider locks
+     */
+    @Bean
+    StripedLocks providerLocks(AppointmentsProperties properties) {
+        return new StripedLocks(properties.booking().lockStripes());
+    }
+}
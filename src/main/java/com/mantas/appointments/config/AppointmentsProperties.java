@@ -0,0 +1,51 @@
+package com.mantas.appointments.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for appointment booking.
+ *
+ * @param defaultDuration length of appointments for services without their own duration
+ * @param maxFreeSlotDays maximum number of days a single free slot lookup can span
+ * @param booking         settings for concurrent bookings
+ * @param scheduleIndex   settings for the in-memory schedules of the providers
+ */
+@ConfigurationProperties(prefix = "app.appointments")
+public record AppointmentsProperties(
+        @DefaultValue("60m") Duration defaultDuration,
+        @DefaultValue("31") int maxFreeSlotDays,
+        @DefaultValue Booking booking,
+        @DefaultValue ScheduleIndex scheduleIndex
+) {
+
+    /**
+     * Concurrent booking settings.
+     *
+     * @param lockStripes    number of locks the providers are spread over, rounded up to a power of two
+     * @param lockTimeout    how long a booking waits for the lock of its provider before the attempt fails
+     * @param maxAttempts    how many times a booking is attempted when it fails on a concurrent change
+     * @param initialBackoff pause before the first retry, doubled for every further retry
+     */
+    public record Booking(
+            @DefaultValue("256") int lockStripes,
+            @DefaultValue("5s") Duration lockTimeout,
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("20ms") Duration initialBackoff
+    ) {
+    }
+
+    /**
+     * In-memory provider schedule settings.
+     *
+     * @param maximumProviders  maximum number of providers whose schedule is kept in memory
+     * @param expireAfterAccess how long the schedule of a provider is kept after it was last used
+     */
+    public record ScheduleIndex(
+            @DefaultValue("10000") int maximumProviders,
+            @DefaultValue("30m") Duration expireAfterAccess
+    ) {
+    }
+}
@@ -1,9 +1,26 @@
 package com.mantas.appointments.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 @Configuration
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class AuditingConfig {
+
+    /**
+     * Provides audit timestamps at the microsecond precision Postgres stores, so saved and cached entities
+     * hold the same timestamps as entities read back from their rows.
+     *
+     * @return the provider of the current time for {@code created} and {@code updated}
+     */
+    @Bean
+    DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
 }
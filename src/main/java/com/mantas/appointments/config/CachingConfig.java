@@ -0,0 +1,75 @@
+package com.mantas.appointments.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    /**
+     * Cache of {@link com.mantas.appointments.dto.OfferedServiceResponse} keyed by service ID.
+     * Size and TTL are configured through {@code spring.cache.caffeine.spec}.
+     */
+    public static final String SERVICES_CACHE = "services";
+
+    /**
+     * Hibernate second-level cache region of {@link com.mantas.appointments.entity.OfferedService} entities.
+     */
+    public static final String OFFERED_SERVICE_REGION = "offered-service";
+
+    /**
+     * Provides the JCache manager holding the Hibernate second-level cache regions, backed by Caffeine.
+     * The regions are created up front, so their size comes from {@link ServicesProperties.Cache}
+     * instead of falling back to unbounded defaults. The update timestamps region never evicts, as Hibernate
+     * relies on it to tell which cached query results are stale.
+     *
+     * @param properties the {@link ServicesProperties} with the cache sizes
+     * @return the cache manager, closed with the application context
+     */
+    @Bean
+    CacheManager hibernateCacheManager(ServicesProperties properties) {
+        ServicesProperties.Cache cache = properties.cache();
+        // A manager of its own per application context, so contexts never share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(OFFERED_SERVICE_REGION, regionConfiguration(cache.maximumSize(), cache));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(cache.queryMaximumSize(), cache));
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    /**
+     * Hands the JCache manager to Hibernate.
+     *
+     * @param hibernateCacheManager the manager of the second-level cache regions
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize, ServicesProperties.Cache cache) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(cache.expireAfterWrite().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mantas.appointments.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mantas.appointments.service.OfferedServiceJsonCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration of the representations of the API.
+ * Besides JSON, the binary representations are negotiated through the {@code Accept} header.
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) are smaller and cheaper to write
+ * than JSON for large listings. Both converters replace the defaults Spring MVC registers when the formats are on the
+ * classpath, so they serialize exactly like the JSON converter configured by Spring Boot.
+ */
+@Configuration
+public class MessageConvertersConfig {
+
+    /**
+     * Provides the module writing services from the {@link OfferedServiceJsonCache}, registered by Spring Boot with
+     * every object mapper it builds.
+     *
+     * @param jsonCache the cache of the JSON of services
+     * @return the Jackson module
+     */
+    @Bean
+    Module offeredServiceJsonCacheModule(OfferedServiceJsonCache jsonCache) {
+        return jsonCache.module();
+    }
+
+    /**
+     * Provides the CBOR converter.
+     *
+     * @param builder the {@link Jackson2ObjectMapperBuilder} Spring Boot configured for JSON
+     * @return the CBOR message converter
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Provides the Smile converter.
+     *
+     * @param builder the {@link Jackson2ObjectMapperBuilder} Spring Boot configured for JSON
+     * @return the Smile message converter
+     */
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.mantas.appointments.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the data sources when reading from a replica of the database.
+ * Active when {@code app.datasource.replica.enabled} is set, replacing the single data source Spring Boot creates
+ * from {@code spring.datasource}. The primary pool is still configured through {@code spring.datasource.hikari}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    /**
+     * Provides the connection pool of the primary database, which takes all writes.
+     *
+     * @param properties the {@link DataSourceProperties} of the primary
+     * @return the primary connection pool
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Provides the connection pool of the replica, whose connections are read-only.
+     *
+     * @param properties        the {@link ReplicaProperties} with the replica location and pool size
+     * @param primaryProperties the {@link DataSourceProperties} of the primary, whose credentials are the default
+     * @return the replica connection pool
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    HikariDataSource replicaDataSource(ReplicaProperties properties, DataSourceProperties primaryProperties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username() != null ? properties.username() : primaryProperties.determineUsername())
+                .password(properties.password() != null ? properties.password() : primaryProperties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Provides the data source choosing between the primary and the replica, monitoring the replica lag.
+     *
+     * @param primaryDataSource the primary connection pool
+     * @param replicaDataSource the replica connection pool
+     * @param properties        the {@link ReplicaProperties} with the lag tolerance and read-your-writes window
+     * @param taskScheduler     the application's scheduler the lag is measured on
+     * @return the routing data source, closed with the application context
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                               ReplicaProperties properties, TaskScheduler taskScheduler) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                ReplicaRoutingDataSource.replicationLag(replicaDataSource), properties.maxLag(),
+                properties.readYourWritesWindow(), properties.maximumTrackedWriters());
+        routingDataSource.startMonitoring(taskScheduler, properties.lagCheckInterval());
+        return routingDataSource;
+    }
+
+    /**
+     * Provides the data source used by JPA, JDBC and the schema initialization.
+     * Connections are fetched on their first statement, once the transaction decided whether it is read-only.
+     *
+     * @param routingDataSource the data source choosing between the primary and the replica
+     * @return the application data source
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mantas.appointments.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for reading from a replica of the database.
+ * The replica is only trusted while its measured lag stays within {@code maxLag}, and users keep reading from the
+ * primary for {@code readYourWritesWindow} after their own writes. The window should be longer than
+ * {@code maxLag} plus {@code lagCheckInterval}, so users always see the changes they made.
+ *
+ * @param enabled               whether read-only transactions are routed to the replica
+ * @param url                   JDBC URL of the replica
+ * @param username              user of the replica, the primary's user if not set
+ * @param password              password of the replica, the primary's password if not set
+ * @param maximumPoolSize       maximum number of pooled replica connections
+ * @param maxLag                replication lag up to which reads are still sent to the replica
+ * @param lagCheckInterval      time between two measurements of the replication lag
+ * @param readYourWritesWindow  time after a user's write during which the user's reads go to the primary
+ * @param maximumTrackedWriters maximum number of users whose recent writes are remembered
+ */
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval,
+        @DefaultValue("10s") Duration readYourWritesWindow,
+        @DefaultValue("100000") long maximumTrackedWriters
+) {
+
+    /**
+     * How long cached data read from the replica may lag behind the primary.
+     *
+     * @return the lag tolerance plus the time it takes to notice it was exceeded, zero without a replica
+     */
+    public Duration stalenessBound() {
+        return enabled ? maxLag.plus(lagCheckInterval) : Duration.ZERO;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mantas.appointments.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Data source sending the connections of read-only transactions to a read replica, and all others to the primary.
+ * Reads fall back to the primary while the replication lag exceeds the tolerance or could not be measured, and for
+ * a while after the authenticated user committed a write, so users always read their own writes. Writes are
+ * reported by the services through {@link #rememberWriterOnCommit()}.
+ * The routing decision depends on the transaction, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches the connection once the
+ * transaction has started.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * Lag of a streaming replica. A replica that replayed everything it received counts as current, even if the
+     * last replayed transaction is old because the primary was idle. A database that is not a replica has no lag.
+     */
+    private static final String LAG_QUERY = """
+            select case
+                when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else extract(epoch from now() - pg_last_xact_replay_timestamp())
+            end""";
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final Callable<Duration> lagProbe;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+
+    // Unknown until first measured, and while the replica cannot be reached
+    private volatile Duration lag;
+    private ScheduledFuture<?> monitoring;
+
+    /**
+     * Creates the data source. Reads go to the primary until the replica lag has been measured.
+     *
+     * @param primary               the data source of the primary
+     * @param replica               the data source of the replica
+     * @param lagProbe              measures the current replication lag
+     * @param maxLag                the lag up to which reads are sent to the replica
+     * @param readYourWritesWindow  the time after a user's write during which the user's reads go to the primary
+     * @param maximumTrackedWriters the maximum number of users whose recent writes are remembered
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Callable<Duration> lagProbe, Duration maxLag,
+                                    Duration readYourWritesWindow, long maximumTrackedWriters) {
+        this.lagProbe = lagProbe;
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumTrackedWriters)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Measures the replication lag of a Postgres replica.
+     *
+     * @param replica the data source of the replica
+     * @return the probe measuring the lag on a connection of the replica
+     */
+    public static Callable<Duration> replicationLag(DataSource replica) {
+        return () -> {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                double seconds = result.getDouble(1);
+                if (result.wasNull()) {
+                    throw new SQLException("Replica has not replayed any transaction yet");
+                }
+                return Duration.ofNanos((long) (seconds * 1_000_000_000));
+            }
+        };
+    }
+
+    /**
+     * Measures the replication lag now and then in the background at the given interval.
+     *
+     * @param scheduler the scheduler the measurements run on
+     * @param interval  the time between two measurements
+     */
+    public synchronized void startMonitoring(TaskScheduler scheduler, Duration interval) {
+        if (monitoring != null) {
+            return;
+        }
+        monitoring = scheduler.scheduleWithFixedDelay(this::measureLag, interval);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (monitoring != null) {
+            monitoring.cancel(true);
+            monitoring = null;
+        }
+    }
+
+    /**
+     * Provides the last measured replication lag.
+     *
+     * @return the lag, {@code null} if it is unknown
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    /**
+     * Sends the reads of the authenticated user to the primary for a while, once the current transaction commits.
+     * Called by the service methods after they wrote, as a read-write transaction may well write nothing.
+     * Without a transaction the write has already been committed, so the user is remembered right away.
+     */
+    public void rememberWriterOnCommit() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    void measureLag() {
+        boolean wasUsable = isReplicaUsable();
+        try {
+            lag = lagProbe.call();
+        } catch (Exception e) {
+            lag = null;
+            if (wasUsable) {
+                log.warn("Reading from the primary, the replica lag could not be measured: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable && !isReplicaUsable()) {
+            log.warn("Reading from the primary, the replica lags {} behind", lag);
+        } else if (!wasUsable && isReplicaUsable()) {
+            log.info("Reading from the replica, it lags {} behind", lag);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        String userId = currentUserId();
+        if (!isReplicaUsable() || (userId != null && recentWriters.getIfPresent(userId) != null)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private boolean isReplicaUsable() {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Only users identified by their JWT subject can read their own writes
+        return authentication != null && authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mantas.appointments.config;
+
+import com.mantas.appointments.controller.AdmissionControlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.mantas.appointments.controller.ServicesController.SERVICES_API;
+
+@Configuration
+@EnableConfigurationProperties(ServicesProperties.class)
+public class ServicesConfig {
+
+    /**
+     * Provides the admission control shedding load from the services API.
+     *
+     * @param properties    the {@link ServicesProperties} with the admission settings
+     * @param meterRegistry the registry the concurrency limits are published to, if metrics are enabled
+     * @return the admission control interceptor
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.services.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    AdmissionControlInterceptor admissionControlInterceptor(ServicesProperties properties,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdmissionControlInterceptor(properties.admission(), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Registers the admission control in front of every services endpoint, when enabled.
+     * The export is left out: a stream always takes longer than the latency budget and holds its permit throughout,
+     * so counting it would shrink the limit as if the endpoint were overloaded.
+     *
+     * @param admissionControlInterceptor the admission control, if enabled
+     * @return the MVC configuration adding the interceptor
+     */
+    @Bean
+    WebMvcConfigurer admissionControlConfigurer(ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                admissionControlInterceptor.ifAvailable(interceptor ->
+                        registry.addInterceptor(interceptor)
+                                .addPathPatterns(SERVICES_API, SERVICES_API + "/**")
+                                .excludePathPatterns(SERVICES_API + "/export"));
+            }
+        };
+    }
+}
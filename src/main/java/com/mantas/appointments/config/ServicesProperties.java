@@ -0,0 +1,133 @@
+package com.mantas.appointments.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the offered services API.
+ *
+ * @param pagination settings for paginated service listings
+ * @param search     settings for full-text service search
+ * @param bulk       settings for bulk service operations
+ * @param suggest    settings for service name suggestions
+ * @param cache      settings for the Hibernate second-level cache of services
+ * @param admission  settings for the admission control shedding load from the services API
+ * @param outbox     settings for relaying service changes to downstream systems
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.services")
+public record ServicesProperties(
+        @DefaultValue Pagination pagination,
+        @DefaultValue Search search,
+        @DefaultValue @Valid Bulk bulk,
+        @DefaultValue Suggest suggest,
+        @DefaultValue Cache cache,
+        @DefaultValue Admission admission,
+        @DefaultValue Outbox outbox
+) {
+
+    /**
+     * Pagination settings.
+     *
+     * @param defaultPageSize page size used when the client does not request one
+     * @param maxPageSize     upper bound for the requested page size
+     */
+    public record Pagination(
+            @DefaultValue("20") int defaultPageSize,
+            @DefaultValue("100") int maxPageSize
+    ) {
+    }
+
+    /**
+     * Full-text search settings.
+     *
+     * @param maxResults how deep clients can page into the ranked results of a single query
+     */
+    public record Search(
+            @DefaultValue("1000") int maxResults
+    ) {
+    }
+
+    /**
+     * Bulk operation settings.
+     *
+     * @param maxItems  maximum number of services accepted in a single bulk request
+     * @param chunkSize number of services flushed to the database and cleared from the persistence context at once
+     */
+    public record Bulk(
+            @DefaultValue("10000") @Positive int maxItems,
+            @DefaultValue("500") @Positive int chunkSize
+    ) {
+    }
+
+    /**
+     * Service name suggestion settings.
+     *
+     * @param defaultLimit number of suggestions returned when the client does not request a limit
+     * @param maxLimit     upper bound for the requested number of suggestions
+     */
+    public record Suggest(
+            @DefaultValue("10") int defaultLimit,
+            @DefaultValue("50") int maxLimit
+    ) {
+    }
+
+    /**
+     * Hibernate second-level cache settings.
+     *
+     * @param maximumSize      maximum number of services kept in the entity cache
+     * @param queryMaximumSize maximum number of cached listing query results
+     * @param expireAfterWrite time after which cached entries are dropped, bounding staleness if an invalidation is missed
+     */
+    public record Cache(
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("1000") long queryMaximumSize,
+            @DefaultValue("10m") Duration expireAfterWrite
+    ) {
+    }
+
+    /**
+     * Admission control settings, applied to every endpoint separately.
+     *
+     * @param enabled       whether requests over the concurrency limit are shed
+     * @param initialLimit  number of concurrent requests admitted before any latency was observed
+     * @param minLimit      lower bound of the concurrency limit
+     * @param maxLimit      upper bound of the concurrency limit
+     * @param backoffRatio  factor the limit is multiplied with after a request exceeded the latency budget, at most
+     *                      once per latency budget
+     * @param latencyBudget latency above which a request counts as a sign of overload
+     * @param maxQueueWait  longest time a request waits for admission before it is rejected
+     * @param retryAfter    time rejected clients are told to wait before retrying
+     */
+    public record Admission(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("0.9") double backoffRatio,
+            @DefaultValue("500ms") Duration latencyBudget,
+            @DefaultValue("100ms") Duration maxQueueWait,
+            @DefaultValue("1s") Duration retryAfter
+    ) {
+    }
+
+    /**
+     * Outbox relay settings.
+     *
+     * @param enabled      whether this instance relays changes from the outbox, which requires an
+     *                     {@code OfferedServiceChangePublisher} bean; changes are still recorded otherwise
+     * @param batchSize    number of changes locked, published and deleted in one transaction
+     * @param pollInterval time between two polls of the outbox, once it is drained
+     */
+    public record Outbox(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("1s") Duration pollInterval
+    ) {
+    }
+}
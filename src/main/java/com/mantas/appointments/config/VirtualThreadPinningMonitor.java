@@ -0,0 +1,95 @@
+package com.mantas.appointments.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads pinned to their carrier thread while the {@code virtual-threads} profile is active.
+ * A pinned virtual thread blocks its carrier, e.g. while waiting on I/O inside a {@code synchronized} block,
+ * so enough of them starve every other virtual thread. Pinning is read from the {@code jdk.VirtualThreadPinned}
+ * JFR event, which unlike {@code -Djdk.tracePinnedThreads} needs no JVM flag and so also works for the packaged jar.
+ */
+@Slf4j
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+    private static final int LOGGED_FRAMES = 5;
+
+    private final Counter pinned;
+
+    private RecordingStream stream;
+
+    /**
+     * Creates the monitor.
+     *
+     * @param meterRegistry the registry the number of pinned virtual threads is published to,
+     *                      as {@code jvm.threads.virtual.pinned}
+     */
+    public VirtualThreadPinningMonitor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.pinned = registry == null ? null : Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier thread for longer than " + THRESHOLD.toMillis() + " ms")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        if (pinned != null) {
+            pinned.increment();
+        }
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread {} pinned to its carrier for {} ms at {}",
+                    event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                    event.getDuration().toMillis(), topFrames(event));
+        }
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown location";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .toList()
+                .toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.mantas.appointments.controller;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit of concurrently handled requests, adapted to the observed latency with additive increase and multiplicative
+ * decrease (AIMD). A request slower than the latency budget shrinks the limit by the backoff ratio, at most once per
+ * latency budget, so a single slow spike seen by every request in flight backs off once. Every faster request grows
+ * the limit by {@code 1 / limit} while at least half of the limit is in use, about one per limit's worth of requests.
+ * When the database slows down, requests pile up here for at most the maximum queue wait instead of inside the
+ * connection pool.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyBudgetNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+
+    /**
+     * Creates the limit.
+     *
+     * @param initialLimit  the limit before any latency was observed
+     * @param minLimit      the lower bound of the limit
+     * @param maxLimit      the upper bound of the limit
+     * @param backoffRatio  the factor the limit is multiplied with after a request exceeded the latency budget
+     * @param latencyBudget the latency above which a request counts as a sign of overload
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyBudget) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyBudgetNanos = latencyBudget.toNanos();
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecrease = System.nanoTime() - latencyBudgetNanos;
+    }
+
+    /**
+     * Admits a request, waiting for a released slot while the limit is reached.
+     *
+     * @param maxWait the longest time to wait for a slot
+     * @return {@code true} if the request was admitted and must be released, {@code false} if it was rejected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        long remaining = maxWait.toNanos();
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot of an admitted request and adapts the limit to its latency.
+     *
+     * @param latency the time the request took since it was admitted
+     */
+    public void release(Duration latency) {
+        lock.lock();
+        try {
+            int wasInFlight = inFlight--;
+            if (latency.toNanos() > latencyBudgetNanos) {
+                long now = System.nanoTime();
+                // Requests in flight during the last decrease saw the same overload, it is not backed off again
+                if (now - lastDecrease >= latencyBudgetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                // Only grown while in use, so a quiet period does not leave a limit that was never tested
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Provides the current limit.
+     *
+     * @return the number of requests handled concurrently
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Provides the number of admitted requests not released yet.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Provides the number of requests rejected so far.
+     *
+     * @return the total number of rejections
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,108 @@
+package com.mantas.appointments.controller;
+
+import com.mantas.appointments.config.ServicesProperties;
+import com.mantas.appointments.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control in front of the service endpoints.
+ * Every endpoint has an {@link AdaptiveConcurrencyLimit} of its own, so one slow endpoint does not starve the others.
+ * Requests not admitted within the maximum queue wait fail fast with a {@link ServiceOverloadedException}.
+ * The limits, requests in flight and rejections are published as {@code services.admission.*} metrics,
+ * tagged with the endpoint.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_LIMIT = AdmissionControlInterceptor.class.getName() + ".limit";
+    private static final String ADMITTED_AT = AdmissionControlInterceptor.class.getName() + ".admittedAt";
+
+    private final ServicesProperties.Admission properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param properties    the {@link ServicesProperties.Admission} with the limit settings
+     * @param meterRegistry the registry the limits are published to, {@code null} to not publish them
+     */
+    public AdmissionControlInterceptor(ServicesProperties.Admission properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(endpointOf(request), this::createLimit);
+        boolean admitted;
+        try {
+            admitted = limit.tryAcquire(properties.maxQueueWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            throw new ServiceOverloadedException(properties.retryAfter());
+        }
+        request.setAttribute(ADMITTED_LIMIT, limit);
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED_LIMIT) instanceof AdaptiveConcurrencyLimit limit) {
+            long admittedAt = (long) request.getAttribute(ADMITTED_AT);
+            limit.release(Duration.ofNanos(System.nanoTime() - admittedAt));
+        }
+    }
+
+    /**
+     * Provides the limits of the endpoints requested so far.
+     *
+     * @return the limits by endpoint, such as {@code GET /api/v1/services/{id}}
+     */
+    public Map<String, AdaptiveConcurrencyLimit> getLimits() {
+        return Map.copyOf(limits);
+    }
+
+    private AdaptiveConcurrencyLimit createLimit(String endpoint) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(),
+                properties.maxLimit(), properties.backoffRatio(), properties.latencyBudget());
+        if (meterRegistry != null) {
+            Tags tags = Tags.of("endpoint", endpoint);
+            Gauge.builder("services.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Requests of the endpoint handled concurrently")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("services.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Admitted requests of the endpoint not completed yet")
+                    .tags(tags)
+                    .register(meterRegistry);
+            FunctionCounter.builder("services.admission.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                    .description("Requests of the endpoint rejected as overload")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+        return limit;
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    }
+}
@@ -1,14 +1,42 @@
 package com.mantas.appointments.controller;
 
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.dto.AvailabilityRequest;
+import com.mantas.appointments.dto.AvailabilityResponse;
+import com.mantas.appointments.dto.TimeSlot;
+import com.mantas.appointments.service.Appointments;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for managing appointments.
+ * Handles requests related to booking and cancelling appointments and to provider availability.
+ */
 @RestController
-@RequestMapping("api/v1/appointments")
+@RequestMapping(AppointmentsController.APPOINTMENTS_API)
+@RequiredArgsConstructor
 public class AppointmentsController {
 
+    public static final String APPOINTMENTS_API = "/api/v1/appointments";
+
+    private final Appointments appointmentsService;
+
     @PreAuthorize("hasRole('PROVIDER')")
     @GetMapping("/provider")
     public String provider() {
@@ -20,4 +48,66 @@ public class AppointmentsController {
         return "Welcome, Client!";
     }
 
+    /**
+     * Books an appointment for the authenticated user.
+     *
+     * @param appointmentRequest the DTO representing the service and start time to book
+     * @return the booked appointment, or 409 if the provider already has an overlapping appointment
+     */
+    @PostMapping
+    public ResponseEntity<AppointmentResponse> bookAppointment(@RequestBody @Valid AppointmentRequest appointmentRequest) {
+        return ResponseEntity.ok(appointmentsService.bookAppointment(appointmentRequest));
+    }
+
+    /**
+     * Finds the slots in which a service can still be booked.
+     *
+     * @param serviceId the ID of the service to book
+     * @param from      the first UTC day to look at
+     * @param to        the last UTC day to look at, inclusive
+     * @return the free slots in time order
+     */
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<TimeSlot>> findFreeSlots(@RequestParam Long serviceId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(appointmentsService.findFreeSlots(serviceId, from, to));
+    }
+
+    /**
+     * Sets the hours the authenticated provider is available in on a day.
+     *
+     * @param day                 the UTC day
+     * @param availabilityRequest the DTO representing the available ranges of the day
+     * @return the availability of the day with the ranges merged and sorted
+     */
+    @PreAuthorize("hasRole('PROVIDER')")
+    @PutMapping("/availability/{day}")
+    public ResponseEntity<AvailabilityResponse> setAvailability(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+                                                                @RequestBody @Valid AvailabilityRequest availabilityRequest) {
+        return ResponseEntity.ok(appointmentsService.setAvailability(day, availabilityRequest.ranges()));
+    }
+
+    /**
+     * Retrieves an appointment by its ID.
+     *
+     * @param id the ID of the appointment to retrieve
+     * @return the appointment with the specified ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable Long id) {
+        return ResponseEntity.ok(appointmentsService.getAppointmentById(id));
+    }
+
+    /**
+     * Cancels an appointment by its ID.
+     *
+     * @param id the ID of the appointment to cancel
+     * @return a response indicating the cancellation was successful
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelAppointment(@PathVariable Long id) {
+        appointmentsService.cancelAppointment(id);
+        return ResponseEntity.noContent().build();
+    }
 }
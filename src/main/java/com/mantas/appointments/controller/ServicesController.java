@@ -1,25 +1,48 @@
 package com.mantas.appointments.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mantas.appointments.dto.OfferedServiceBulkUpdateRequest;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
 import com.mantas.appointments.dto.OfferedServiceRequest;
 import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.dto.VersionStamp;
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.service.OfferedServiceJsonCache;
 import com.mantas.appointments.service.OfferedServices;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
  * Controller for managing services.
  * Handles requests related to services.
+ * Responses are JSON by default, CBOR or Smile when the client accepts them.
  */
 @RestController
 @RequestMapping(ServicesController.SERVICES_API)
@@ -29,26 +52,124 @@ public class ServicesController {
     public static final String SERVICES_API = "/api/v1/services";
 
     private final OfferedServices servicesService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all services.
+     * Retrieves a page of services.
      *
-     * @return a list of all services
+     * @param cursor     the opaque cursor returned with the previous page, omitted for the first page
+     * @param size       the requested page size, omitted for the default size
+     * @param webRequest the {@link WebRequest} used to evaluate conditional request headers
+     * @return a page of services with the cursor of the next page, or 304 if the client's copy is still current
      */
     @GetMapping
-    public ResponseEntity<List<OfferedServiceResponse>> getAllServices() {
-        return ResponseEntity.ok(servicesService.getAllServices());
+    public ResponseEntity<PageResponse<OfferedServiceResponse>> getAllServices(@RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer size,
+                                                                               WebRequest webRequest) {
+        PageResponse<OfferedServiceResponse> page = servicesService.getAllServices(cursor, size);
+        VersionStamp version = VersionStamp.of(page);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        // The version is shared by all representations, so caches have to tell them apart by the Accept header
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    /**
+     * Retrieves a page of services matching the given filter.
+     * All filter parameters are optional and combined with AND.
+     *
+     * @param filter    the category, price range and owner the services must match
+     * @param sortBy    the field to sort by, ID by default
+     * @param direction the sort direction, ascending by default
+     * @param cursor    the opaque cursor returned with the previous page, omitted for the first page
+     * @param size      the requested page size, omitted for the default size
+     * @return a page of matching services with the cursor of the next page
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<PageResponse<OfferedServiceResponse>> filterServices(ServiceFilter filter,
+                                                                               @RequestParam(defaultValue = "ID") ServiceSort sortBy,
+                                                                               @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(servicesService.filterServices(filter, sortBy, direction, cursor, size));
+    }
+
+    /**
+     * Full-text searches services by name and description, best matches first.
+     *
+     * @param q    the free text query
+     * @param page the zero based page of the ranked results
+     * @param size the requested page size, omitted for the default size
+     * @return the matching services of the requested page
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<OfferedServiceResponse>> searchServices(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(servicesService.searchServices(q, page, size));
+    }
+
+    /**
+     * Suggests services whose name starts with the given prefix, for autocomplete.
+     *
+     * @param prefix   the beginning of the service name typed so far
+     * @param category the category to restrict the suggestions to, omitted for all categories
+     * @param limit    the maximum number of suggestions, omitted for the default
+     * @return the matching services in name order
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ServiceSuggestion>> suggestServices(@RequestParam String prefix,
+                                                                   @RequestParam(required = false) Category category,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(servicesService.suggestServices(prefix, category, limit));
+    }
+
+    /**
+     * Exports all services as newline delimited JSON.
+     * Services are written to the response as they are read from the database,
+     * so the export starts immediately and memory use stays flat regardless of the catalog size.
+     *
+     * @param response the {@link HttpServletResponse} to write the services to
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportServices(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // The export goes through every service once, caching their JSON would only push out the frequently read ones
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withAttribute(OfferedServiceJsonCache.BYPASS_ATTRIBUTE, true);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            servicesService.exportServices(service -> {
+                try {
+                    writer.writeValue(generator, service);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     /**
      * Retrieves a service by its ID.
      *
-     * @param id the ID of the service to retrieve
-     * @return the service with the specified ID
+     * @param id         the ID of the service to retrieve
+     * @param webRequest the {@link WebRequest} used to evaluate conditional request headers
+     * @return the service with the specified ID, or 304 if the client's copy is still current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OfferedServiceResponse> getServiceById(@PathVariable Long id) {
-        return ResponseEntity.ok(servicesService.getServiceById(id));
+    public ResponseEntity<OfferedServiceResponse> getServiceById(@PathVariable Long id, WebRequest webRequest) {
+        OfferedServiceResponse service = servicesService.getServiceById(id);
+        VersionStamp version = VersionStamp.of(service);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(service);
     }
 
     /**
@@ -62,8 +183,34 @@ public class ServicesController {
         return ResponseEntity.ok(servicesService.createService(offeredServiceDto));
     }
 
+    /**
+     * Creates multiple services in a single request.
+     * Either all services are created, or none if any of them is invalid.
+     *
+     * @param offeredServiceDtos the DTOs representing the services to create
+     * @return the created services, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<OfferedServiceResponse>> createServices(@RequestBody List<OfferedServiceRequest> offeredServiceDtos) {
+        return ResponseEntity.ok(servicesService.createServices(offeredServiceDtos));
+    }
+
+    /**
+     * Updates multiple services in a single request.
+     * Either all services are updated, or none if any of the updates is invalid or targets a service
+     * the user does not own.
+     *
+     * @param updateRequests the IDs and new details of the services to update
+     * @return the updated services, in request order
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<List<OfferedServiceResponse>> updateServices(@RequestBody List<OfferedServiceBulkUpdateRequest> updateRequests) {
+        return ResponseEntity.ok(servicesService.updateServices(updateRequests));
+    }
+
     /**
      * Updates an existing service.
+     * Only the owner of the service can update it.
      *
      * @param id             the ID of the service to update
      * @param updatedService the DTO representing the updated service
@@ -75,8 +222,24 @@ public class ServicesController {
         return ResponseEntity.ok(servicesService.updateService(id, updatedService));
     }
 
+    /**
+     * Partially updates an existing service.
+     * Only the fields present in the request are changed, in a single database statement.
+     * Only the owner of the service can update it.
+     *
+     * @param id           the ID of the service to update
+     * @param patchRequest the DTO with the fields to change
+     * @return the updated service
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<OfferedServiceResponse> patchService(@PathVariable Long id,
+                                                               @RequestBody @Valid OfferedServicePatchRequest patchRequest) {
+        return ResponseEntity.ok(servicesService.patchService(id, patchRequest));
+    }
+
     /**
      * Deletes a service by its ID.
+     * Only the owner of the service can delete it.
      *
      * @param id the ID of the service to delete
      * @return a response indicating the deletion was successful
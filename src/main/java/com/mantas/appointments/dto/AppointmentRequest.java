@@ -0,0 +1,23 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for Appointment Request.
+ * Contains the service to book and when the appointment starts, the end follows from the service duration.
+ */
+@Builder
+public record AppointmentRequest(
+        @NotNull(message = ErrorMessage.SERVICE_ID_NULL)
+        Long serviceId,
+
+        @NotNull(message = ErrorMessage.START_TIME_NULL)
+        @Future(message = ErrorMessage.START_TIME_NOT_FUTURE)
+        Instant startTime
+) {
+}
@@ -0,0 +1,25 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.entity.AppointmentStatus;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for Appointment Response.
+ * Contains details about the appointment.
+ */
+@Builder
+public record AppointmentResponse(
+        Long id,
+        Long serviceId,
+        String providerId,
+        String clientId,
+        Instant startTime,
+        Instant endTime,
+        AppointmentStatus status,
+        LocalDateTime created,
+        LocalDateTime updated
+) {
+}
@@ -0,0 +1,19 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for Availability Request.
+ * Contains the ranges a provider is available in on a single day, replacing any previously set ones.
+ *
+ * @param ranges the available ranges, may overlap and be in any order
+ */
+public record AvailabilityRequest(
+        @NotNull(message = ErrorMessage.TIME_RANGE_NULL)
+        List<@Valid @NotNull(message = ErrorMessage.TIME_RANGE_NULL) TimeRange> ranges
+) {
+}
@@ -0,0 +1,19 @@
+package com.mantas.appointments.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for Availability Response.
+ * Contains the working hours of a provider on a single UTC day, merged into non overlapping ranges.
+ *
+ * @param providerId Keycloak user ID of the provider
+ * @param day        the UTC day
+ * @param ranges     the ranges the provider is available in, in time order
+ */
+public record AvailabilityResponse(
+        String providerId,
+        LocalDate day,
+        List<TimeRange> ranges
+) {
+}
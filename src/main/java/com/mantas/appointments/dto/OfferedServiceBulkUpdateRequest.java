@@ -0,0 +1,21 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+/**
+ * Data Transfer Object for one item of a bulk service update.
+ * Contains the ID of the service to update and its new details.
+ */
+@Builder
+public record OfferedServiceBulkUpdateRequest(
+        @NotNull(message = ErrorMessage.SERVICE_ID_NULL)
+        Long id,
+
+        @Valid
+        @NotNull(message = ErrorMessage.BULK_ITEM_NULL)
+        OfferedServiceRequest service
+) {
+}
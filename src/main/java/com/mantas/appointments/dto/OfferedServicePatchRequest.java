@@ -0,0 +1,30 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.exception.ErrorMessage;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a partial update of an Offered Service.
+ * Only the fields present in the request are changed, omitted or {@code null} fields keep their current value.
+ */
+@Builder
+public record OfferedServicePatchRequest(
+        @Pattern(regexp = "(?s).*\\S.*", message = ErrorMessage.NAME_BLANK)
+        String name,
+
+        String description,
+
+        @Positive(message = ErrorMessage.PRICE_NEGATIVE)
+        BigDecimal price,
+
+        Category category,
+
+        @Positive(message = ErrorMessage.DURATION_NOT_POSITIVE)
+        Integer durationMinutes
+) {
+}
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 
 /**
  * Data Transfer Object for Offered Service Request.
- * Contains details about the service such as name, description, price, and category.
+ * Contains details about the service such as name, description, price, category and appointment duration.
  */
 @Builder
 public record OfferedServiceRequest(
@@ -25,6 +25,9 @@ public record OfferedServiceRequest(
         BigDecimal price,
 
         @NotNull(message = ErrorMessage.CATEGORY_NULL)
-        Category category
+        Category category,
+
+        @Positive(message = ErrorMessage.DURATION_NOT_POSITIVE)
+        Integer durationMinutes
 ) {
 }
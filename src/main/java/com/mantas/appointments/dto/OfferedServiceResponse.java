@@ -12,11 +12,13 @@ import java.time.LocalDateTime;
  */
 @Builder
 public record OfferedServiceResponse(
+        Long id,
         String name,
         String description,
         BigDecimal price,
         String ownerId,
         Category category,
+        Integer durationMinutes,
         LocalDateTime created,
         LocalDateTime updated
 ) {
@@ -0,0 +1,17 @@
+package com.mantas.appointments.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a single page of a cursor paginated listing.
+ * The {@code nextCursor} is an opaque token to request the following page, or {@code null} on the last page.
+ *
+ * @param content    items of the current page
+ * @param nextCursor token of the next page, {@code null} if there are no more items
+ * @param <T>        type of the page items
+ */
+public record PageResponse<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
@@ -0,0 +1,22 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.entity.Category;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional criteria for filtering offered services.
+ * Criteria that are {@code null} are not applied.
+ *
+ * @param category category the services must belong to
+ * @param minPrice lowest price, inclusive
+ * @param maxPrice highest price, inclusive
+ * @param ownerId  Keycloak user ID of the services owner
+ */
+public record ServiceFilter(
+        Category category,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        String ownerId
+) {
+}
@@ -0,0 +1,58 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.entity.OfferedService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Fields offered services can be sorted by.
+ * Each field knows how to write and read its value in a page cursor, so listings can be paginated by keyset.
+ */
+public enum ServiceSort {
+    ID("id", service -> null, key -> null),
+    PRICE("price", service -> service.getPrice().toPlainString(), BigDecimal::new),
+    NAME("name", OfferedService::getName, key -> key),
+    UPDATED("updated", service -> service.getUpdated().toString(), LocalDateTime::parse);
+
+    private final String attribute;
+    private final Function<OfferedService, String> keyExtractor;
+    private final Function<String, ? extends Comparable<?>> keyParser;
+
+    ServiceSort(String attribute,
+                Function<OfferedService, String> keyExtractor,
+                Function<String, ? extends Comparable<?>> keyParser) {
+        this.attribute = attribute;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    /**
+     * @return name of the {@link OfferedService} attribute to sort by
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Extracts the sort key of a service to be stored in a page cursor.
+     *
+     * @param service the service to extract the key from
+     * @return the key in its cursor form, {@code null} when sorting by ID only
+     */
+    public String keyOf(OfferedService service) {
+        return keyExtractor.apply(service);
+    }
+
+    /**
+     * Parses a sort key previously extracted by {@link #keyOf(OfferedService)}.
+     *
+     * @param key the key in its cursor form
+     * @return the typed key value
+     * @throws RuntimeException if the key is not valid for this field
+     */
+    public Comparable<?> parseKey(String key) {
+        return keyParser.apply(key);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.entity.Category;
+
+/**
+ * Data Transfer Object for a service name suggestion.
+ *
+ * @param id       ID of the suggested service
+ * @param name     name of the suggested service
+ * @param category category of the suggested service
+ */
+public record ServiceSuggestion(
+        Long id,
+        String name,
+        Category category
+) {
+}
@@ -0,0 +1,22 @@
+package com.mantas.appointments.dto;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object for a range of time within a day.
+ * An end of {@code 00:00} stands for the end of the day.
+ *
+ * @param start start of the range, inclusive
+ * @param end   end of the range, exclusive
+ */
+public record TimeRange(
+        @NotNull(message = ErrorMessage.TIME_RANGE_NULL)
+        LocalTime start,
+
+        @NotNull(message = ErrorMessage.TIME_RANGE_NULL)
+        LocalTime end
+) {
+}
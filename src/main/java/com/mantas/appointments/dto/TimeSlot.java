@@ -0,0 +1,15 @@
+package com.mantas.appointments.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a bookable time slot.
+ *
+ * @param start start of the slot
+ * @param end   end of the slot, exclusive
+ */
+public record TimeSlot(
+        Instant start,
+        Instant end
+) {
+}
@@ -0,0 +1,71 @@
+package com.mantas.appointments.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Version of a resource used to answer conditional requests.
+ * Derived from the very representation that is sent, so a body served from a cache that missed a change
+ * never goes out with the version of the current state. The entity tag is weak, as the JSON, CBOR and Smile
+ * encodings of the resource, gzipped or not, are equivalent but not byte for byte the same.
+ *
+ * @param eTag         weak entity tag of the resource, including the {@code W/} prefix and the quotes
+ * @param lastModified last modification time of the resource, {@code null} if unknown
+ */
+public record VersionStamp(
+        String eTag,
+        LocalDateTime lastModified
+) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Computes the version of a service from its ID and last modification time.
+     *
+     * @param service the service as it is sent to the client
+     * @return the version of the service
+     */
+    public static VersionStamp of(OfferedServiceResponse service) {
+        return new VersionStamp(quote(service.id() + "-" + toMicros(service.updated())), service.updated());
+    }
+
+    /**
+     * Computes the version of a page of services, which changes whenever any service of the page,
+     * or the page boundaries, change.
+     *
+     * @param page the page as it is sent to the client
+     * @return the version of the page
+     */
+    public static VersionStamp of(PageResponse<OfferedServiceResponse> page) {
+        long hash = page.content().size();
+        LocalDateTime lastModified = null;
+        for (OfferedServiceResponse service : page.content()) {
+            hash = 31 * (31 * hash + Objects.hashCode(service.id())) + toMicros(service.updated());
+            if (lastModified == null || service.updated().isAfter(lastModified)) {
+                lastModified = service.updated();
+            }
+        }
+        // The next cursor is part of the body, so a last page gaining a successor changes as well
+        hash = 31 * hash + Objects.hashCode(page.nextCursor());
+        return new VersionStamp(quote(Long.toHexString(hash) + "-" + page.content().size()), lastModified);
+    }
+
+    /**
+     * Returns the last modification time in epoch milliseconds, as expected by the HTTP conditional request support.
+     *
+     * @return epoch milliseconds of the last modification, or {@code -1} if unknown
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String quote(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mantas.appointments.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Represents an appointment of a client with the provider of an offered service.
+ * Booked appointments of the same provider never overlap, which is enforced by the
+ * {@code appointment_no_overlap} exclusion constraint in {@code schema.sql}.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(name = "idx_appointment_provider_id_start_time", columnList = "provider_id, start_time"),
+        @Index(name = "idx_appointment_client_id", columnList = "client_id")
+})
+public class Appointment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "service_id", nullable = false)
+    private OfferedService service;
+
+    @Column(name = "provider_id", nullable = false)
+    private String providerId; // Keycloak user ID of the service owner at booking time
+
+    @Column(name = "client_id", nullable = false)
+    private String clientId; // Keycloak user ID of the client who booked the appointment
+
+    @Column(name = "start_time", nullable = false)
+    private Instant startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private Instant endTime; // Exclusive, so back to back appointments do not overlap
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentStatus status;
+
+    @Version
+    private Long version; // Guards against lost updates from concurrent changes of the same appointment
+
+    @CreatedDate
+    @Column(updatable = false, nullable = false)
+    private LocalDateTime created;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updated;
+}
@@ -0,0 +1,10 @@
+package com.mantas.appointments.entity;
+
+/**
+ * Status of an appointment.
+ * Only booked appointments take up the provider's time.
+ */
+public enum AppointmentStatus {
+    BOOKED,
+    CANCELLED
+}
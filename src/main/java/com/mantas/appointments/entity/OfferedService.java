@@ -1,5 +1,6 @@
 package com.mantas.appointments.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -8,10 +9,15 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,9 +25,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import static com.mantas.appointments.config.CachingConfig.OFFERED_SERVICE_REGION;
+
 /**
  * Represents a service entity in the application.
  * Contains details about the service.
+ * Read far more often than written, so it is kept in the Hibernate second-level cache.
  */
 @Data
 @Entity
@@ -29,10 +38,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = OFFERED_SERVICE_REGION)
+@Table(indexes = {
+        @Index(name = "idx_offered_service_category_price", columnList = "category, price"),
+        @Index(name = "idx_offered_service_owner_id", columnList = "owner_id")
+})
 public class OfferedService {
 
+    // Sequence with a pooled allocation lets Hibernate assign IDs up front and batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "offered_service_seq")
+    @SequenceGenerator(name = "offered_service_seq", sequenceName = "offered_service_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -41,6 +58,10 @@ public class OfferedService {
 
     private BigDecimal price;
 
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes; // Length of a booked appointment, the configured default if not set
+
+    @Column(name = "owner_id")
     private String ownerId; // Keycloak user ID of the service owner
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,45 @@
+package com.mantas.appointments.entity;
+
+import com.mantas.appointments.event.OfferedServiceChangedEvent.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a change of a service waiting in the outbox to be relayed to downstream systems.
+ * Rows are written by Postgres in the transaction of the change (see {@code schema.sql}) and deleted once relayed.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "offered_service_outbox")
+public class OfferedServiceOutboxEvent {
+
+    // Assigned by the database, as the rows are inserted by a trigger
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
@@ -0,0 +1,57 @@
+package com.mantas.appointments.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the working hours of a provider on a single UTC day.
+ * The hours are stored as a bitmap of the day's 5 minute slots, see {@code SlotBitmap}.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_provider_availability_provider_id_day", columnNames = {"provider_id", "day"}))
+public class ProviderAvailability {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "provider_availability_seq")
+    @SequenceGenerator(name = "provider_availability_seq", sequenceName = "provider_availability_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private String providerId; // Keycloak user ID of the provider
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private byte[] slots; // One bit per 5 minute slot, set when the provider is available
+
+    @CreatedDate
+    @Column(updatable = false, nullable = false)
+    private LocalDateTime created;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updated;
+}
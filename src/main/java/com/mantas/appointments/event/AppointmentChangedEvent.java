@@ -0,0 +1,28 @@
+package com.mantas.appointments.event;
+
+import com.mantas.appointments.dto.AppointmentResponse;
+
+/**
+ * Application event published whenever an appointment is booked or cancelled.
+ *
+ * @param type        kind of the change
+ * @param appointment state of the appointment after the change
+ */
+public record AppointmentChangedEvent(
+        ChangeType type,
+        AppointmentResponse appointment
+) {
+
+    public enum ChangeType {
+        BOOKED,
+        CANCELLED
+    }
+
+    public static AppointmentChangedEvent booked(AppointmentResponse appointment) {
+        return new AppointmentChangedEvent(ChangeType.BOOKED, appointment);
+    }
+
+    public static AppointmentChangedEvent cancelled(AppointmentResponse appointment) {
+        return new AppointmentChangedEvent(ChangeType.CANCELLED, appointment);
+    }
+}
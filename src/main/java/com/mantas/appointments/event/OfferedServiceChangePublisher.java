@@ -0,0 +1,21 @@
+package com.mantas.appointments.event;
+
+
+import java.util.List;
+
+/**
+ * Publishes committed service changes from the outbox to downstream systems, such as a message broker.
+ * Changes are delivered at least once: a batch that fails to publish is retried as a whole later on.
+ * Every change carries the state of the service when it was relayed, so consecutive changes of a service carry the
+ * same, latest state.
+ */
+@FunctionalInterface
+public interface OfferedServiceChangePublisher {
+
+    /**
+     * Publishes a batch of changes, returning only once they are delivered.
+     *
+     * @param changes the changes, oldest first
+     */
+    void publish(List<OfferedServiceChangedEvent> changes);
+}
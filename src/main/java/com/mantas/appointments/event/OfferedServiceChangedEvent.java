@@ -0,0 +1,36 @@
+package com.mantas.appointments.event;
+
+import com.mantas.appointments.dto.OfferedServiceResponse;
+
+/**
+ * Application event published whenever an offered service is created, updated or deleted.
+ * Listeners keeping derived state, such as in-memory indexes, react to it instead of being called by the service directly.
+ *
+ * @param type    kind of the change
+ * @param id      ID of the changed service
+ * @param service state of the service after the change, {@code null} for deletions
+ */
+public record OfferedServiceChangedEvent(
+        ChangeType type,
+        Long id,
+        OfferedServiceResponse service
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static OfferedServiceChangedEvent created(OfferedServiceResponse service) {
+        return new OfferedServiceChangedEvent(ChangeType.CREATED, service.id(), service);
+    }
+
+    public static OfferedServiceChangedEvent updated(OfferedServiceResponse service) {
+        return new OfferedServiceChangedEvent(ChangeType.UPDATED, service.id(), service);
+    }
+
+    public static OfferedServiceChangedEvent deleted(Long id) {
+        return new OfferedServiceChangedEvent(ChangeType.DELETED, id, null);
+    }
+}
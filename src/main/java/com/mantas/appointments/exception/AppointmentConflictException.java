@@ -0,0 +1,10 @@
+package com.mantas.appointments.exception;
+
+/**
+ * Exception thrown when an appointment would overlap another booked appointment of the same provider.
+ */
+public class AppointmentConflictException extends RuntimeException {
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mantas.appointments.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Exception thrown when one or more items of a bulk request fail validation.
+ * Errors are keyed by the item index and field, e.g. {@code [3].price}.
+ */
+@Getter
+public class BulkValidationException extends RuntimeException {
+
+    private final Map<String, String> validationErrors;
+
+    public BulkValidationException(Map<String, String> validationErrors) {
+        super("Validation failed");
+        this.validationErrors = validationErrors;
+    }
+}
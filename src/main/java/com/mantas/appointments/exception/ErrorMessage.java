@@ -7,7 +7,30 @@ public final class ErrorMessage {
     public final static String PRICE_NULL = "Service price cannot be null";
     public final static String PRICE_NEGATIVE = "Service price must be greater than zero";
     public final static String CATEGORY_NULL = "Service category cannot be null";
+    public final static String DURATION_NOT_POSITIVE = "Service duration must be greater than zero";
     public final static String INVALID_CATEGORY = "Invalid value for field 'category'";
     public final static String AUTHENTICATION_NOT_JWT = "Authentication principal is not of type Jwt";
+    public final static String INVALID_CURSOR = "Invalid page cursor";
+    public final static String INVALID_PAGE_SIZE = "Page size must be greater than zero";
+    public final static String INVALID_PRICE_RANGE = "Minimum price cannot be greater than maximum price";
+    public final static String SEARCH_QUERY_BLANK = "Search query cannot be blank";
+    public final static String SEARCH_TOO_DEEP = "Search results are limited to the first %d matches";
+    public final static String INVALID_SUGGEST_LIMIT = "Suggestion limit must be a positive number";
+    public final static String BULK_TOO_LARGE = "Bulk request cannot contain more than %d services";
+    public final static String BULK_ITEM_NULL = "Service cannot be null";
+    public final static String BULK_DUPLICATE_ID = "Service cannot be updated more than once in a bulk request";
+    public final static String SERVICE_ID_NULL = "Service ID cannot be null";
+    public final static String START_TIME_NULL = "Appointment start time cannot be null";
+    public final static String START_TIME_NOT_FUTURE = "Appointment start time must be in the future";
+    public final static String APPOINTMENT_CONFLICT = "Provider already has an appointment overlapping %s - %s";
+    public final static String INVALID_TIME_RANGE = "Time range must end after it starts and align to %d minute slots";
+    public final static String TIME_RANGE_NULL = "Time range start and end cannot be null";
+    public final static String INVALID_DATE_RANGE = "Date range must end on or after its start and span at most %d days";
+    public final static String PROVIDER_BUSY = "Timed out waiting for other bookings of the provider";
+    public final static String CONCURRENT_MODIFICATION = "Appointment was changed concurrently, please retry";
+    public final static String APPOINTMENT_NOT_PARTICIPANT = "Only the client or the provider of the appointment can access it";
+    public final static String SERVICE_NOT_OWNER = "Only the owner of the service can change it";
+    public final static String SERVICE_OVERLOADED = "Too many requests are in progress, please retry later";
+    public final static String RATE_LIMIT_EXCEEDED = "Too many requests, please slow down";
 
 }
@@ -3,14 +3,17 @@ package com.mantas.appointments.exception;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -48,6 +51,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    /**
+     * Handles validation errors of bulk requests and returns a structured error response
+     * with the errors of every invalid item.
+     *
+     * @param ex      the {@link BulkValidationException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details
+     */
+    @ExceptionHandler(BulkValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleBulkValidationException(BulkValidationException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .validationErrors(ex.getValidationErrors())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     /**
      * Handles entity not found exceptions and returns a structured error response.
      *
@@ -68,6 +93,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiError);
     }
 
+    /**
+     * Handles changes and reads of resources the current user has no access to.
+     *
+     * @param ex      the {@link AccessDeniedException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ResponseEntity<ApiError> handleAccessDeniedException(AccessDeniedException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.FORBIDDEN.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.FORBIDDEN.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .build();
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(apiError);
+    }
+
     /**
      * Handles non existent enum values and other request deserialization issues.
      *
@@ -94,4 +139,96 @@ public class GlobalExceptionHandler {
                 .build();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
+
+    /**
+     * Handles malformed or unsupported request parameters.
+     *
+     * @param ex      the {@link InvalidRequestException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleInvalidRequestException(InvalidRequestException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
+    /**
+     * Handles bookings that overlap an existing appointment.
+     *
+     * @param ex      the {@link AppointmentConflictException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details
+     */
+    @ExceptionHandler(AppointmentConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ApiError> handleAppointmentConflictException(AppointmentConflictException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
+    }
+
+    /**
+     * Handles requests shed by the admission control, telling the client when to retry.
+     *
+     * @param ex      the {@link ServiceOverloadedException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details and the {@code Retry-After} header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiError> handleServiceOverloadedException(ServiceOverloadedException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(apiError);
+    }
+
+    /**
+     * Handles requests over the rate limit of the user, telling the client when to retry.
+     *
+     * @param ex      the {@link RateLimitExceededException}
+     * @param request the {@link HttpServletRequest} for context
+     * @return a {@link ResponseEntity} containing the error details and the {@code Retry-After} header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<ApiError> handleRateLimitExceededException(RateLimitExceededException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError.Builder()
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(ex.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .path(request.getRequestURI())
+                .timestamp(OffsetDateTime.now().toString())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(apiError);
+    }
+
+    /**
+     * Formats the {@code Retry-After} header, which only supports whole seconds, rounding up.
+     */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        long seconds = retryAfter.getNano() > 0 ? retryAfter.getSeconds() + 1 : retryAfter.getSeconds();
+        return String.valueOf(Math.max(1, seconds));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.mantas.appointments.exception;
+
+/**
+ * Exception thrown when a request contains a malformed or unsupported parameter,
+ * for example an invalid pagination cursor.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mantas.appointments.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a user sent more requests to an endpoint than their rate limit allows.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(Duration retryAfter) {
+        super(ErrorMessage.RATE_LIMIT_EXCEEDED);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mantas.appointments.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the application is handling as many requests as it can.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(Duration retryAfter) {
+        super(ErrorMessage.SERVICE_OVERLOADED);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mantas.appointments.mapper;
+
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.entity.Appointment;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper interface for converting Appointment entities to AppointmentResponse DTOs.
+ * Uses MapStruct for automatic mapping generation.
+ */
+@Mapper(componentModel = "spring")
+public interface AppointmentMapper {
+
+    /**
+     * Converts {@link Appointment} entity to {@link AppointmentResponse}.
+     * Only the ID of the booked service is read, so a lazy service is not initialized.
+     *
+     * @param entity the {@link Appointment} entity to convert
+     * @return the converted {@link AppointmentResponse}
+     */
+    @Mapping(target = "serviceId", source = "service.id")
+    AppointmentResponse toDto(Appointment entity);
+}
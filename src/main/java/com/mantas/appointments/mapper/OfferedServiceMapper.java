@@ -3,8 +3,11 @@ package com.mantas.appointments.mapper;
 import com.mantas.appointments.dto.OfferedServiceRequest;
 import com.mantas.appointments.dto.OfferedServiceResponse;
 import com.mantas.appointments.entity.OfferedService;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 /**
  * Mapper interface for converting between OfferedServiceResponse DTO and OfferedService entity classes.
@@ -32,4 +35,18 @@ public interface OfferedServiceMapper {
     @Mapping(target = "updated", ignore = true)
     @Mapping(target = "ownerId", ignore = true)
     OfferedService toEntity(OfferedServiceRequest dto);
+
+    /**
+     * Copies the details of {@link OfferedServiceRequest} onto an existing {@link OfferedService} entity.
+     * {@code null} fields of the request keep the current value, like a single service update.
+     *
+     * @param dto    the {@link OfferedServiceRequest} with the new details
+     * @param entity the {@link OfferedService} entity to update
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "created", ignore = true)
+    @Mapping(target = "updated", ignore = true)
+    @Mapping(target = "ownerId", ignore = true)
+    void updateEntity(OfferedServiceRequest dto, @MappingTarget OfferedService entity);
 }
@@ -0,0 +1,54 @@
+package com.mantas.appointments.repository;
+
+import com.mantas.appointments.entity.Appointment;
+import com.mantas.appointments.entity.AppointmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing Appointment entities.
+ * Provides methods to perform CRUD operations on Appointment entities.
+ */
+public interface AppointmentsRepository extends JpaRepository<Appointment, Long> {
+
+    /**
+     * Loads the time taken up by the booked appointments of a provider that end after the given instant.
+     * Uses the {@code (provider_id, start_time)} index.
+     *
+     * @param providerId Keycloak user ID of the provider
+     * @param after      instant the appointments must end after
+     * @return intervals of the booked appointments in start order
+     */
+    @Query("select new com.mantas.appointments.repository.ScheduledInterval(a.id, a.startTime, a.endTime) " +
+            "from Appointment a where a.providerId = :providerId " +
+            "and a.status = com.mantas.appointments.entity.AppointmentStatus.BOOKED and a.endTime > :after " +
+            "order by a.startTime")
+    List<ScheduledInterval> findBookedIntervals(String providerId, Instant after);
+
+    /**
+     * Loads the time taken up by the booked appointments of a provider that overlap the given range.
+     *
+     * @param providerId Keycloak user ID of the provider
+     * @param from       start of the range
+     * @param to         end of the range, exclusive
+     * @return intervals of the booked appointments in start order
+     */
+    @Query("select new com.mantas.appointments.repository.ScheduledInterval(a.id, a.startTime, a.endTime) " +
+            "from Appointment a where a.providerId = :providerId " +
+            "and a.status = com.mantas.appointments.entity.AppointmentStatus.BOOKED " +
+            "and a.endTime > :from and a.startTime < :to " +
+            "order by a.startTime")
+    List<ScheduledInterval> findBookedIntervalsBetween(String providerId, Instant from, Instant to);
+
+    /**
+     * Tells whether an appointment exists with the given status, by primary key.
+     *
+     * @param id     ID of the appointment
+     * @param status status the appointment must have
+     * @return {@code true} if the appointment exists with the status
+     */
+    boolean existsByIdAndStatus(Long id, AppointmentStatus status);
+}
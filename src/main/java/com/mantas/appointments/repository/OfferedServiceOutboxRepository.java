@@ -0,0 +1,23 @@
+package com.mantas.appointments.repository;
+
+import com.mantas.appointments.entity.OfferedServiceOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Repository interface for the outbox of service changes.
+ */
+public interface OfferedServiceOutboxRepository extends JpaRepository<OfferedServiceOutboxEvent, Long> {
+
+    /**
+     * Locks the oldest changes not locked by another transaction, so concurrent relays take disjoint batches
+     * instead of waiting for each other. The locks are held until the current transaction ends.
+     *
+     * @param batchSize maximum number of changes to lock
+     * @return the locked changes, oldest first
+     */
+    @Query(nativeQuery = true, value = "select * from offered_service_outbox order by id limit :batchSize for update skip locked")
+    List<OfferedServiceOutboxEvent> lockNextBatch(int batchSize);
+}
@@ -0,0 +1,65 @@
+package com.mantas.appointments.repository;
+
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.entity.OfferedService;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Building blocks for dynamic {@link OfferedService} queries.
+ * Every factory returns {@code null} for a missing criterion, which Spring Data ignores when combining specifications.
+ */
+public final class OfferedServiceSpecifications {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This class is intended to be a utility class and should not be instantiated.
+     */
+    private OfferedServiceSpecifications() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static Specification<OfferedService> hasCategory(Category category) {
+        return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<OfferedService> priceAtLeast(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<OfferedService> priceAtMost(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<OfferedService> hasOwner(String ownerId) {
+        return ownerId == null ? null : (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    /**
+     * Seeks the services positioned after the given keyset in a listing sorted by {@code attribute} and then ID,
+     * both in the given direction.
+     *
+     * @param attribute sort attribute, or {@code null} when sorting by ID only
+     * @param key       sort attribute value of the last service of the previous page
+     * @param id        ID of the last service of the previous page
+     * @param direction sort direction
+     * @param <Y>       type of the sort attribute
+     * @return specification matching the services after the keyset
+     */
+    public static <Y extends Comparable<? super Y>> Specification<OfferedService> after(String attribute, Y key, Long id,
+                                                                                        Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            var idAfter = direction.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (attribute == null) {
+                return idAfter;
+            }
+            Path<Y> keyPath = root.get(attribute);
+            var keyAfter = direction.isAscending() ? cb.greaterThan(keyPath, key) : cb.lessThan(keyPath, key);
+            return cb.or(keyAfter, cb.and(cb.equal(keyPath, key), idAfter));
+        };
+    }
+}
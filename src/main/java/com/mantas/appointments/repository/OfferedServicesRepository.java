@@ -1,11 +1,146 @@
 package com.mantas.appointments.repository;
 
+import com.mantas.appointments.dto.ServiceSuggestion;
 import com.mantas.appointments.entity.OfferedService;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for managing Service entities.
  * Provides methods to perform CRUD operations on Service entities.
+ * Dynamic filtering queries are built with {@link OfferedServiceSpecifications}.
  */
-public interface OfferedServicesRepository extends JpaRepository<OfferedService, Long> {
-}
\ No newline at end of file
+public interface OfferedServicesRepository extends JpaRepository<OfferedService, Long>, JpaSpecificationExecutor<OfferedService> {
+
+    /**
+     * Seeks the services following the given ID in ID order.
+     * Uses the primary key index, so the cost does not grow with the position in the listing.
+     *
+     * @param id    ID of the last service of the previous page
+     * @param limit maximum number of services to return
+     * @return services with an ID greater than the given one
+     */
+    List<OfferedService> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Runs the category, owner and price filtered listings built with {@link OfferedServiceSpecifications}.
+     * Results are kept in the Hibernate query cache, which drops them whenever a service is written.
+     *
+     * @param spec          the filter criteria
+     * @param queryFunction defines the sorting, limit and result of the query
+     * @param <S>           type of the queried entities
+     * @param <R>           type of the result
+     * @return the query result
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    <S extends OfferedService, R> R findBy(Specification<OfferedService> spec,
+                                           Function<? super SpecificationFluentQuery<S>, R> queryFunction);
+
+    /**
+     * Full-text searches services by name and description, best matches first.
+     * Matches through the GIN indexed {@code search_vector} column and ranks them with {@code ts_rank},
+     * where name matches weigh more than description matches.
+     *
+     * @param query  free text query in web search syntax, e.g. {@code deep tissue -sports}
+     * @param limit  maximum number of services to return
+     * @param offset number of best matches to skip
+     * @return matching services ordered by rank
+     */
+    @Query(nativeQuery = true, value = """
+            select s.* from offered_service s, websearch_to_tsquery('english', :query) q
+            where s.search_vector @@ q
+            order by ts_rank(s.search_vector, q) desc, s.id
+            limit :limit offset :offset""")
+    List<OfferedService> searchByText(String query, int limit, int offset);
+
+    /**
+     * Updates the given fields of a service owned by the given user in a single statement and returns the updated row.
+     * {@code null} arguments keep the current column value. Runs around the persistence context and the
+     * second-level cache, so the caller must evict the cached service once the transaction commits.
+     * Spring Data only lets modifying queries return a row count, so the statement is run as a query whose rows are
+     * mapped to entities. Hibernate returns an instance already in the persistence context as it is, instead of
+     * the updated row, so the caller must flush and clear the persistence context first, as
+     * {@code @Modifying(flushAutomatically = true, clearAutomatically = true)} would.
+     * The caller also stamps {@code updated}, from the same clock the auditing listener stamps every other write with.
+     *
+     * @param id              ID of the service to update
+     * @param ownerId         Keycloak user ID of the service owner
+     * @param name            new name, or {@code null}
+     * @param description     new description, or {@code null}
+     * @param price           new price, or {@code null}
+     * @param category        name of the new category, or {@code null}
+     * @param durationMinutes new appointment duration, or {@code null}
+     * @param updated         time of the update
+     * @return the updated service, empty if no service with the given ID is owned by the user
+     */
+    @Query(nativeQuery = true, value = """
+            update offered_service set
+                name = coalesce(cast(:name as varchar), name),
+                description = coalesce(cast(:description as varchar), description),
+                price = coalesce(cast(:price as numeric), price),
+                category = coalesce(cast(:category as varchar), category),
+                duration_minutes = coalesce(cast(:durationMinutes as integer), duration_minutes),
+                updated = :updated
+            where id = :id and owner_id = :ownerId
+            returning *""")
+    Optional<OfferedService> patchByIdAndOwnerId(Long id, String ownerId, String name, String description,
+                                                 BigDecimal price, String category, Integer durationMinutes,
+                                                 LocalDateTime updated);
+
+    /**
+     * Deletes a service owned by the given user in a single statement.
+     * As a bulk operation it bypasses the persistence context, Hibernate evicts the cached services itself.
+     *
+     * @param id      ID of the service to delete
+     * @param ownerId Keycloak user ID of the service owner
+     * @return number of deleted services, 0 if no service with the given ID is owned by the user
+     */
+    @Modifying
+    @Query("delete from OfferedService s where s.id = :id and s.ownerId = :ownerId")
+    int deleteByIdAndOwnerId(Long id, String ownerId);
+
+    /**
+     * Streams all services in ID order through a forward only database cursor.
+     * Rows are fetched from the database in chunks, so the whole table is never held in memory,
+     * and bypass the second-level cache, so an export does not push the frequently read services out of it.
+     * Must be consumed inside a read-only transaction and closed after use.
+     *
+     * @return stream of all services
+     */
+    @Query("select s from OfferedService s order by s.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<OfferedService> streamAll();
+
+    /**
+     * Streams the ID, name and category of all services, without loading the full entities.
+     * Must be consumed inside a read-only transaction and closed after use.
+     *
+     * @return stream of the names of all services
+     */
+    @Query("select new com.mantas.appointments.dto.ServiceSuggestion(s.id, s.name, s.category) from OfferedService s")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ServiceSuggestion> streamNames();
+}
@@ -0,0 +1,34 @@
+package com.mantas.appointments.repository;
+
+import com.mantas.appointments.entity.ProviderAvailability;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing ProviderAvailability entities.
+ * Uses the unique {@code (provider_id, day)} index for all lookups.
+ */
+public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAvailability, Long> {
+
+    /**
+     * Looks up the availability of a provider on a day.
+     *
+     * @param providerId Keycloak user ID of the provider
+     * @param day        the UTC day
+     * @return the availability, empty if the provider has not set any for the day
+     */
+    Optional<ProviderAvailability> findByProviderIdAndDay(String providerId, LocalDate day);
+
+    /**
+     * Loads the availability of a provider for a range of days.
+     *
+     * @param providerId Keycloak user ID of the provider
+     * @param from       first UTC day, inclusive
+     * @param to         last UTC day, inclusive
+     * @return the availability of the days the provider has set any for
+     */
+    List<ProviderAvailability> findByProviderIdAndDayBetween(String providerId, LocalDate from, LocalDate to);
+}
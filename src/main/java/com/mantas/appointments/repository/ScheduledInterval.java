@@ -0,0 +1,13 @@
+package com.mantas.appointments.repository;
+
+import java.time.Instant;
+
+/**
+ * Time taken up by a booked appointment.
+ *
+ * @param appointmentId ID of the appointment
+ * @param start         start of the appointment
+ * @param end           end of the appointment, exclusive
+ */
+public record ScheduledInterval(Long appointmentId, Instant start, Instant end) {
+}
@@ -0,0 +1,118 @@
+package com.mantas.appointments.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Authentication manager remembering the authentications of bearer tokens it already verified.
+ * Clients reuse their token for many requests, so repeat callers skip the signature verification and the
+ * conversion of the claims into authorities. Entries are keyed by the SHA-256 hash of the token, never the token
+ * itself, and are kept until the token expires. The expiry is checked again on every hit.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+    private final Clock clock;
+    private final Cache<String, JwtAuthenticationToken> cache;
+
+    /**
+     * Creates the manager.
+     *
+     * @param delegate    the manager verifying the tokens that are not cached yet
+     * @param maximumSize the maximum number of cached authentications
+     * @param clock       the clock the token expiry is compared with
+     */
+    public CachingJwtAuthenticationManager(AuthenticationManager delegate, long maximumSize, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = hash(bearer.getToken());
+        JwtAuthenticationToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (!isExpired(cached.getToken())) {
+                // A new instance, so the details of this request do not leak into other requests
+                JwtAuthenticationToken result = new JwtAuthenticationToken(cached.getToken(), cached.getAuthorities(), cached.getName());
+                result.setDetails(bearer.getDetails());
+                return result;
+            }
+            cache.invalidate(key);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result instanceof JwtAuthenticationToken token && token.getToken().getExpiresAt() != null) {
+            cache.put(key, token);
+        }
+        return result;
+    }
+
+    /**
+     * Provides the cache, so its hit rate can be published as metrics.
+     *
+     * @return the cache of verified authentications
+     */
+    public Cache<String, JwtAuthenticationToken> getCache() {
+        return cache;
+    }
+
+    private boolean isExpired(Jwt jwt) {
+        return !jwt.getExpiresAt().isAfter(clock.instant());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Evicts every entry when its token expires.
+     */
+    private final class UntilTokenExpires implements Expiry<String, JwtAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtAuthenticationToken value, long currentTime) {
+            Instant expiresAt = value.getToken().getExpiresAt();
+            return Math.max(0, Duration.between(clock.instant(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtAuthenticationToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtAuthenticationToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
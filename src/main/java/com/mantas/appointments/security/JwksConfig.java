@@ -0,0 +1,91 @@
+package com.mantas.appointments.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Configuration of the JWT decoder that works without issuer discovery.
+ * Active when {@code app.security.jwt.jwks.enabled} is set, replacing the decoder Spring Boot creates from
+ * {@code spring.security.oauth2.resourceserver.jwt.issuer-uri}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.security.jwt.jwks", name = "enabled", havingValue = "true")
+public class JwksConfig {
+
+    /**
+     * Provides the source of the signing keys, loaded from the local file and refreshed in the background.
+     *
+     * @param properties    the {@link JwtProperties} with the key locations and refresh intervals
+     * @param taskScheduler the application's scheduler the refreshes run on
+     * @return the started key source, closed with the application context
+     */
+    @Bean
+    RefreshingJwkSource jwkSource(JwtProperties properties, TaskScheduler taskScheduler) {
+        JwtProperties.Jwks jwks = properties.jwks();
+        RefreshingJwkSource source = new RefreshingJwkSource(jwks.location(), remoteJwks(jwks),
+                jwks.minRefetchInterval(), Clock.systemUTC());
+        source.startRefreshing(taskScheduler, jwks.refreshInterval());
+        return source;
+    }
+
+    /**
+     * Provides the decoder verifying token signatures with the keys of the {@link RefreshingJwkSource}.
+     * Expiry is always validated, and the issuer as well when {@code issuer-uri} is configured. The issuer is only
+     * compared with the claim, its discovery endpoint is never called.
+     *
+     * @param jwkSource  the source of the signing keys
+     * @param properties the {@link OAuth2ResourceServerProperties} with the expected issuer
+     * @return the JWT decoder
+     */
+    @Bean
+    JwtDecoder jwtDecoder(RefreshingJwkSource jwkSource, OAuth2ResourceServerProperties properties) {
+        Set<JWSAlgorithm> algorithms = new HashSet<>(JWSAlgorithm.Family.RSA);
+        algorithms.addAll(JWSAlgorithm.Family.EC);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, jwkSource));
+        // Claims are validated by the decoder below, like the decoders Spring Security builds
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        String issuer = properties.getJwt().getIssuerUri();
+        OAuth2TokenValidator<Jwt> validator = issuer == null
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuer);
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(validator);
+        return decoder;
+    }
+
+    private static Callable<JWKSet> remoteJwks(JwtProperties.Jwks jwks) {
+        if (jwks.uri() == null) {
+            return null;
+        }
+        RestClient restClient = RestClient.builder()
+                .requestFactory(ClientHttpRequestFactoryBuilder.detect().build(ClientHttpRequestFactorySettings.defaults()
+                        .withConnectTimeout(jwks.timeout())
+                        .withReadTimeout(jwks.timeout())))
+                .build();
+        return () -> JWKSet.parse(restClient.get().uri(jwks.uri()).retrieve().body(String.class));
+    }
+}
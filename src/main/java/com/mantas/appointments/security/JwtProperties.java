@@ -0,0 +1,54 @@
+package com.mantas.appointments.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the verification of JWT bearer tokens.
+ *
+ * @param cache settings for the cache of verified tokens
+ * @param jwks  settings for loading the signing keys without issuer discovery
+ */
+@ConfigurationProperties(prefix = "app.security.jwt")
+public record JwtProperties(
+        @DefaultValue Cache cache,
+        @DefaultValue Jwks jwks
+) {
+
+    /**
+     * Verified token cache settings.
+     *
+     * @param enabled     whether verified tokens are cached until they expire
+     * @param maximumSize maximum number of cached tokens
+     */
+    public record Cache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maximumSize
+    ) {
+    }
+
+    /**
+     * Signing key settings. When enabled, startup does not depend on reaching the identity provider.
+     *
+     * @param enabled            whether the keys are loaded from the local file and refreshed in the background,
+     *                           instead of being discovered through the issuer on the first request
+     * @param location           local JWKS file read at startup and updated after every fetch, may be a static key set
+     * @param uri                JWKS endpoint of the identity provider, no refreshes if not set
+     * @param refreshInterval    time between two background refreshes
+     * @param minRefetchInterval minimum time between two refetches triggered by tokens signed with an unknown key
+     * @param timeout            connect and read timeout of a fetch
+     */
+    public record Jwks(
+            @DefaultValue("false") boolean enabled,
+            Resource location,
+            URI uri,
+            @DefaultValue("10m") Duration refreshInterval,
+            @DefaultValue("30s") Duration minRefetchInterval,
+            @DefaultValue("5s") Duration timeout
+    ) {
+    }
+}
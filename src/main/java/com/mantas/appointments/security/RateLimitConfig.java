@@ -0,0 +1,48 @@
+package com.mantas.appointments.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the per-user rate limits of the API.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * Provides the rate limiting of the API, refilling the buckets by {@link System#nanoTime()}.
+     *
+     * @param properties the {@link RateLimitProperties} with the limits
+     * @return the rate limiting interceptor
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.security.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    RateLimitInterceptor rateLimitInterceptor(RateLimitProperties properties) {
+        return new RateLimitInterceptor(properties, () -> System.nanoTime() / 1000);
+    }
+
+    /**
+     * Registers the rate limiting in front of every API endpoint, when enabled.
+     * It runs before any other interceptor, so rejected requests do not take part in the admission control.
+     *
+     * @param rateLimitInterceptor the rate limiting, if enabled
+     * @return the MVC configuration adding the interceptor
+     */
+    @Bean
+    WebMvcConfigurer rateLimitConfigurer(ObjectProvider<RateLimitInterceptor> rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                rateLimitInterceptor.ifAvailable(interceptor ->
+                        registry.addInterceptor(interceptor).addPathPatterns("/api/**").order(Ordered.HIGHEST_PRECEDENCE));
+            }
+        };
+    }
+}
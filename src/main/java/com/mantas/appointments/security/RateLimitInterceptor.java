@@ -0,0 +1,134 @@
+package com.mantas.appointments.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mantas.appointments.exception.RateLimitExceededException;
+import com.mantas.appointments.service.utils.ServiceUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user rate limiting of the API, keyed by the subject of the user's JWT.
+ * Every user has a {@link TokenBucket} per endpoint, sized by the limit of their role for that endpoint.
+ * Endpoints are named by the HTTP method and URI template of their mapping, e.g. {@code GET /api/v1/services}, so
+ * {@code HEAD} requests use the buckets of the {@code GET} endpoint they are answered by.
+ * Responses carry the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers,
+ * requests over the limit fail with a {@link RateLimitExceededException}.
+ * Once the buckets of an endpoint exist, checking a request takes two map lookups and a compare-and-set.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final String PROVIDER_AUTHORITY = "ROLE_PROVIDER";
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Map<Method, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param properties the {@link RateLimitProperties} with the limits
+     * @param clock      the monotonic clock in microseconds the buckets are refilled by
+     */
+    public RateLimitInterceptor(RateLimitProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(handler instanceof HandlerMethod handlerMethod) || authentication == null
+                || !(authentication.getPrincipal() instanceof Jwt)) {
+            return true;
+        }
+        Route route = routes.get(handlerMethod.getMethod());
+        if (route == null) {
+            route = routes.computeIfAbsent(handlerMethod.getMethod(), method -> createRoute(method, request));
+        }
+        Limiter limiter = isProvider(authentication) ? route.provider() : route.client();
+        String userId = ServiceUtils.extractUserIdFromAuthentication(authentication);
+
+        long now = clock.getAsLong();
+        TokenBucket bucket = limiter.buckets().get(userId, limiter.newBucket());
+        long remaining = bucket.tryConsume(now);
+        response.setHeader(LIMIT_HEADER, limiter.capacity());
+        if (remaining < 0) {
+            response.setIntHeader(REMAINING_HEADER, 0);
+            response.setIntHeader(RESET_HEADER, toSeconds(bucket.microsUntilFull(0)));
+            throw new RateLimitExceededException(Duration.ofNanos(-remaining * 1000));
+        }
+        response.setIntHeader(REMAINING_HEADER, (int) remaining);
+        response.setIntHeader(RESET_HEADER, toSeconds(bucket.microsUntilFull(remaining)));
+        return true;
+    }
+
+    private Route createRoute(Method handler, HttpServletRequest request) {
+        // Taken from the mapping, not the request, as the route is shared by every request the handler answers
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handler, RequestMapping.class);
+        String methods = mapping == null || mapping.method().length == 0
+                ? "*"
+                : Arrays.stream(mapping.method()).map(Enum::name).collect(Collectors.joining(","));
+        String route = methods + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return new Route(createLimiter(properties.provider().limitOf(route)),
+                createLimiter(properties.client().limitOf(route)));
+    }
+
+    private Limiter createLimiter(RateLimitProperties.Limit limit) {
+        Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumUsers())
+                .expireAfterAccess(properties.expireAfterAccess())
+                .build();
+        return new Limiter(buckets, userId -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), clock.getAsLong()),
+                String.valueOf(limit.capacity()));
+    }
+
+    private static boolean isProvider(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (PROVIDER_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toSeconds(long micros) {
+        return (int) ((micros + MICROS_PER_SECOND - 1) / MICROS_PER_SECOND);
+    }
+
+    private record Route(Limiter provider, Limiter client) {
+    }
+
+    /**
+     * Buckets of the users of one role on one endpoint.
+     *
+     * @param buckets   the buckets by user ID
+     * @param newBucket creates the full bucket of a user seen for the first time, shared to not allocate per request
+     * @param capacity  the {@code RateLimit-Limit} header value
+     */
+    private record Limiter(Cache<String, TokenBucket> buckets, Function<String, TokenBucket> newBucket, String capacity) {
+    }
+}
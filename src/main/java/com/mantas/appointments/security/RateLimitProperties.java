@@ -0,0 +1,64 @@
+package com.mantas.appointments.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-user rate limits of the API.
+ * Every user has a token bucket per endpoint, sized by the limit of their role for that endpoint.
+ *
+ * @param enabled           whether requests over the limit are rejected
+ * @param maximumUsers      maximum number of users whose buckets are kept per endpoint and role
+ * @param expireAfterAccess time after which the bucket of an inactive user is dropped, it is full again by then
+ * @param provider          limits of users with the {@code PROVIDER} role
+ * @param client            limits of all other users
+ */
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maximumUsers,
+        @DefaultValue("10m") Duration expireAfterAccess,
+        @DefaultValue Role provider,
+        @DefaultValue Role client
+) {
+
+    /**
+     * Limits of a role.
+     *
+     * @param capacity        number of requests a user can send at once to an endpoint
+     * @param refillPerSecond number of requests per second a user can send to an endpoint in the long run
+     * @param routes          limits overriding the above for single endpoints, keyed by method and URI template,
+     *                        such as {@code GET /api/v1/services}
+     */
+    public record Role(
+            @DefaultValue("100") long capacity,
+            @DefaultValue("20") long refillPerSecond,
+            @DefaultValue Map<String, Limit> routes
+    ) {
+
+        /**
+         * Provides the limit of an endpoint.
+         *
+         * @param route the method and URI template of the endpoint
+         * @return the limit of the endpoint, the default of the role if it is not overridden
+         */
+        public Limit limitOf(String route) {
+            return routes.getOrDefault(route, new Limit(capacity, refillPerSecond));
+        }
+    }
+
+    /**
+     * Limit of an endpoint.
+     *
+     * @param capacity        number of requests a user can send at once
+     * @param refillPerSecond number of requests per second a user can send in the long run
+     */
+    public record Limit(
+            long capacity,
+            long refillPerSecond
+    ) {
+    }
+}
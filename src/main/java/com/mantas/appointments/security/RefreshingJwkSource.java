@@ -0,0 +1,168 @@
+package com.mantas.appointments.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Source of the keys JWT signatures are verified with, which never blocks application startup on the network.
+ * The keys are read from a local file at startup and refreshed from the identity provider in the background.
+ * A token signed with an unknown key ID triggers a refetch right away, so rotated keys are picked up without
+ * waiting for the next refresh. Concurrent requests share a single refetch, and refetches are rate limited.
+ * Every fetched key set is written back to the local file, so the next start begins with the latest keys.
+ */
+@Slf4j
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private final Resource location;
+    private final Callable<JWKSet> remote;
+    private final Duration minRefetchInterval;
+    private final Clock clock;
+    private final Lock refetchLock = new ReentrantLock();
+
+    private volatile JWKSet keys;
+    private volatile Instant lastFetch = Instant.MIN;
+    private ScheduledFuture<?> refreshes;
+
+    /**
+     * Creates the source and loads the keys of the local file, if there is one.
+     *
+     * @param location           the local JWKS file, {@code null} to start without keys
+     * @param remote             fetches the current keys from the identity provider, {@code null} to only use the local keys
+     * @param minRefetchInterval the minimum time between two refetches triggered by unknown key IDs
+     * @param clock              the clock refetches are rate limited with
+     */
+    public RefreshingJwkSource(Resource location, Callable<JWKSet> remote, Duration minRefetchInterval, Clock clock) {
+        this.location = location;
+        this.remote = remote;
+        this.minRefetchInterval = minRefetchInterval;
+        this.clock = clock;
+        this.keys = load(location);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        JWKSet current = keys;
+        List<JWK> selected = jwkSelector.select(current);
+        if (!selected.isEmpty() || remote == null) {
+            return selected;
+        }
+
+        refetchLock.lock();
+        try {
+            // Threads that waited for another refetch use its result instead of fetching again
+            if (keys == current && !lastFetch.plus(minRefetchInterval).isAfter(clock.instant())) {
+                refresh();
+            }
+        } finally {
+            refetchLock.unlock();
+        }
+        return jwkSelector.select(keys);
+    }
+
+    /**
+     * Starts refreshing the keys in the background.
+     * Without local keys the first refresh runs right away, otherwise after the first interval.
+     *
+     * @param scheduler the scheduler the refreshes run on
+     * @param interval  the time between two refreshes
+     */
+    public synchronized void startRefreshing(TaskScheduler scheduler, Duration interval) {
+        if (remote == null || refreshes != null) {
+            return;
+        }
+        Instant now = scheduler.getClock().instant();
+        Instant firstRefresh = keys.isEmpty() ? now : now.plus(interval);
+        refreshes = scheduler.scheduleWithFixedDelay(this::refreshExclusively, firstRefresh, interval);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refreshes != null) {
+            refreshes.cancel(true);
+            refreshes = null;
+        }
+    }
+
+    /**
+     * Provides the keys currently used for verification.
+     *
+     * @return the current key set
+     */
+    public JWKSet getKeys() {
+        return keys;
+    }
+
+    private void refreshExclusively() {
+        refetchLock.lock();
+        try {
+            refresh();
+        } finally {
+            refetchLock.unlock();
+        }
+    }
+
+    // Must be called holding the refetch lock; a failed fetch keeps the current keys
+    private void refresh() {
+        lastFetch = clock.instant();
+        JWKSet fetched;
+        try {
+            fetched = remote.call().toPublicJWKSet();
+        } catch (Exception e) {
+            log.warn("Failed to fetch the JWKS, keeping the {} current keys: {}", keys.size(), e.getMessage());
+            return;
+        }
+        keys = fetched;
+        save(fetched);
+    }
+
+    private void save(JWKSet jwkSet) {
+        if (location == null || !location.isFile()) {
+            return;
+        }
+        try {
+            Path file = location.getFile().toPath();
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(temporary, jwkSet.toString(), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save the JWKS snapshot to {}: {}", location, e.getMessage());
+        }
+    }
+
+    private static JWKSet load(Resource location) {
+        if (location == null || !location.exists()) {
+            return new JWKSet();
+        }
+        try (InputStream in = location.getInputStream()) {
+            return JWKSet.load(in).toPublicJWKSet();
+        } catch (IOException | ParseException e) {
+            log.warn("Failed to load the JWKS from {}, starting without keys: {}", location, e.getMessage());
+            return new JWKSet();
+        }
+    }
+}
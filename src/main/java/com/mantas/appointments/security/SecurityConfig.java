@@ -1,8 +1,13 @@
 package com.mantas.appointments.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,9 +16,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,8 +32,11 @@ import java.util.stream.Collectors;
  */
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(JwtProperties.class)
 public class SecurityConfig {
 
+    private static final String JWT_AUTHENTICATIONS_CACHE = "jwt.authentications";
+
     /**
      * Converts JWT claims to authorities based on realm roles.
      * This method extracts roles from the "realm_access" claim and converts them to SimpleGrantedAuthority.
@@ -69,15 +80,24 @@ public class SecurityConfig {
      * Configures the security filter chain for the application.
      * This method sets up JWT resource server support, session management, CSRF protection, and authorization rules.
      *
-     * @param http HttpSecurity object to configure security settings.
+     * @param http          HttpSecurity object to configure security settings.
+     * @param jwtDecoder    JwtDecoder verifying the bearer tokens.
+     * @param jwtProperties JwtProperties with the settings of the verified token cache.
+     * @param meterRegistry MeterRegistry the token cache statistics are published to, if available.
      * @return SecurityFilterChain configured with the specified security settings.
      * @throws Exception if an error occurs during configuration.
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtDecoder jwtDecoder, JwtProperties jwtProperties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) throws Exception {
         return http.oauth2ResourceServer(resourceServer ->
-                        resourceServer.jwt(jwtDecoder ->
-                                jwtDecoder.jwtAuthenticationConverter(authenticationConverter())))
+                        resourceServer.jwt(jwt -> {
+                            if (jwtProperties.cache().enabled()) {
+                                jwt.authenticationManager(cachingJwtAuthenticationManager(jwtDecoder, jwtProperties, meterRegistry));
+                            } else {
+                                jwt.decoder(jwtDecoder).jwtAuthenticationConverter(authenticationConverter());
+                            }
+                        }))
                 .sessionManagement(sessions ->
                         sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -88,6 +108,26 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Creates the manager authenticating bearer tokens, which remembers the tokens it verified until they expire.
+     * The hit rate of its cache is published as the {@code cache.gets} metric of the {@code jwt.authentications} cache.
+     *
+     * @param jwtDecoder    JwtDecoder verifying the tokens that are not cached.
+     * @param jwtProperties JwtProperties with the size of the cache.
+     * @param meterRegistry MeterRegistry the cache statistics are published to, if available.
+     * @return AuthenticationManager caching the verified authentications.
+     */
+    private AuthenticationManager cachingJwtAuthenticationManager(JwtDecoder jwtDecoder, JwtProperties jwtProperties,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(authenticationConverter());
+        CachingJwtAuthenticationManager manager = new CachingJwtAuthenticationManager(new ProviderManager(provider),
+                jwtProperties.cache().maximumSize(), Clock.systemUTC());
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, manager.getCache(), JWT_AUTHENTICATIONS_CACHE));
+        return manager;
+    }
+
     /**
      * Provides an AuthenticationManager bean for authentication configuration.
      * This bean is used to manage authentication processes in the application.
@@ -0,0 +1,109 @@
+package com.mantas.appointments.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The time of the last refill and the number of tokens are packed into a single long,
+ * so taking a token is one compare-and-set without allocation.
+ * The time is kept in microseconds modulo 2^44 (about 200 days), buckets are expected to be dropped long before
+ * they are idle for that long.
+ */
+public class TokenBucket {
+
+    /**
+     * Largest supported capacity.
+     */
+    public static final long MAX_CAPACITY = (1L << 20) - 1;
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = MAX_CAPACITY;
+    private static final long TIME_MASK = (1L << (Long.SIZE - TOKEN_BITS)) - 1;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private final long capacity;
+    private final long refillPerSecond;
+    private final long fullRefillMicros;
+    private final long microsPerToken;
+    private final AtomicLong state;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity        the largest number of tokens, the allowed burst
+     * @param refillPerSecond the number of tokens added every second
+     * @param nowMicros       the current time in microseconds, from a monotonic clock
+     */
+    public TokenBucket(long capacity, long refillPerSecond, long nowMicros) {
+        if (capacity < 1 || capacity > MAX_CAPACITY || refillPerSecond < 1 || refillPerSecond > MICROS_PER_SECOND) {
+            throw new IllegalArgumentException("Unsupported token bucket of " + capacity + " tokens refilled "
+                    + refillPerSecond + " per second");
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.fullRefillMicros = capacity * MICROS_PER_SECOND / refillPerSecond;
+        this.microsPerToken = (MICROS_PER_SECOND + refillPerSecond - 1) / refillPerSecond;
+        this.state = new AtomicLong(pack(nowMicros, capacity));
+    }
+
+    /**
+     * Takes a token if one is available, refilling the bucket for the time passed since the last refill first.
+     *
+     * @param nowMicros the current time in microseconds, from the clock the bucket was created with
+     * @return the number of tokens left if a token was taken, otherwise the negated number of microseconds
+     * until the next token is available
+     */
+    public long tryConsume(long nowMicros) {
+        long now = nowMicros & TIME_MASK;
+        while (true) {
+            long current = state.get();
+            long time = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            long elapsed = (now - time) & TIME_MASK;
+            if (elapsed > TIME_MASK >>> 1) {
+                // Another thread refilled with a slightly later time
+                elapsed = 0;
+            }
+            if (elapsed >= fullRefillMicros) {
+                tokens = capacity;
+                time = now;
+            } else {
+                long added = elapsed * refillPerSecond / MICROS_PER_SECOND;
+                if (added > 0) {
+                    tokens = Math.min(capacity, tokens + added);
+                    // Only the time the added tokens took is used up, so the fraction of the next token is kept
+                    time = tokens == capacity ? now : (time + added * MICROS_PER_SECOND / refillPerSecond) & TIME_MASK;
+                    elapsed = (now - time) & TIME_MASK;
+                }
+            }
+            if (tokens == 0) {
+                return -Math.max(1, microsPerToken - elapsed);
+            }
+            if (state.compareAndSet(current, pack(time, tokens - 1))) {
+                return tokens - 1;
+            }
+        }
+    }
+
+    /**
+     * Provides the largest number of tokens.
+     *
+     * @return the capacity of the bucket
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Provides the time the bucket takes to fill up from the given number of tokens.
+     *
+     * @param tokens the number of tokens left in the bucket
+     * @return the microseconds until the bucket is full
+     */
+    public long microsUntilFull(long tokens) {
+        return (capacity - tokens) * MICROS_PER_SECOND / refillPerSecond;
+    }
+
+    private static long pack(long timeMicros, long tokens) {
+        return (timeMicros & TIME_MASK) << TOKEN_BITS | tokens;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.dto.AvailabilityResponse;
+import com.mantas.appointments.dto.TimeRange;
+import com.mantas.appointments.dto.TimeSlot;
+import com.mantas.appointments.exception.AppointmentConflictException;
+import com.mantas.appointments.exception.InvalidRequestException;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface Appointments {
+
+    /**
+     * Books an appointment for the authenticated client.
+     * The appointment lasts for the duration of the booked service and must not overlap
+     * any other booked appointment of the service provider.
+     *
+     * @param appointmentRequest the service to book and the start of the appointment.
+     * @return {@link AppointmentResponse} representing the booked appointment.
+     * @throws EntityNotFoundException      if no service is found with the given ID.
+     * @throws AppointmentConflictException if the provider already has an overlapping appointment.
+     */
+    AppointmentResponse bookAppointment(AppointmentRequest appointmentRequest);
+
+    /**
+     * Fetches an appointment by its ID.
+     *
+     * @param id ID of the appointment to fetch.
+     * @return {@link AppointmentResponse} representing the appointment with the specified ID.
+     * @throws EntityNotFoundException if no appointment is found with the given ID.
+     * @throws AccessDeniedException   if the authenticated user is neither the client nor the provider.
+     */
+    AppointmentResponse getAppointmentById(Long id);
+
+    /**
+     * Cancels an appointment, freeing its time for other bookings.
+     * Cancelling an already cancelled appointment has no effect.
+     *
+     * @param id ID of the appointment to cancel.
+     * @return {@link AppointmentResponse} representing the cancelled appointment.
+     * @throws EntityNotFoundException if no appointment is found with the given ID.
+     * @throws AccessDeniedException   if the authenticated user is neither the client nor the provider.
+     */
+    AppointmentResponse cancelAppointment(Long id);
+
+    /**
+     * Sets the hours the authenticated provider is available in on a UTC day, replacing any previously set ones.
+     *
+     * @param day    the UTC day.
+     * @param ranges the ranges the provider is available in, aligned to 5 minute slots.
+     * @return {@link AvailabilityResponse} with the ranges merged and sorted.
+     * @throws InvalidRequestException if a range is empty or not aligned to 5 minute slots.
+     */
+    AvailabilityResponse setAvailability(LocalDate day, List<TimeRange> ranges);
+
+    /**
+     * Finds the slots in which a service can still be booked.
+     * A slot is free when its provider is available for the whole duration of the service
+     * and has no booked appointment overlapping it. Slots start on 5 minute boundaries and do not span midnight.
+     *
+     * @param serviceId ID of the service to book.
+     * @param from      first UTC day to look at.
+     * @param to        last UTC day to look at, inclusive.
+     * @return list of {@link TimeSlot} in time order, each as long as the service.
+     * @throws EntityNotFoundException if no service is found with the given ID.
+     * @throws InvalidRequestException if the date range is empty or longer than allowed.
+     */
+    List<TimeSlot> findFreeSlots(Long serviceId, LocalDate from, LocalDate to);
+}
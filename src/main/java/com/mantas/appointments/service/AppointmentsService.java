@@ -0,0 +1,328 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.config.AppointmentsProperties;
+import com.mantas.appointments.config.ReplicaRoutingDataSource;
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.dto.AvailabilityResponse;
+import com.mantas.appointments.dto.TimeRange;
+import com.mantas.appointments.dto.TimeSlot;
+import com.mantas.appointments.entity.Appointment;
+import com.mantas.appointments.entity.AppointmentStatus;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.entity.ProviderAvailability;
+import com.mantas.appointments.event.AppointmentChangedEvent;
+import com.mantas.appointments.exception.AppointmentConflictException;
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.exception.InvalidRequestException;
+import com.mantas.appointments.mapper.AppointmentMapper;
+import com.mantas.appointments.repository.AppointmentsRepository;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.repository.ProviderAvailabilityRepository;
+import com.mantas.appointments.repository.ScheduledInterval;
+import com.mantas.appointments.service.utils.SlotBitmap;
+import com.mantas.appointments.service.utils.StripedLocks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.mantas.appointments.service.utils.SlotBitmap.SLOTS_PER_DAY;
+import static com.mantas.appointments.service.utils.SlotBitmap.SLOT_MINUTES;
+
+import static com.mantas.appointments.service.utils.ServiceUtils.extractUserIdFromAuthentication;
+import static com.mantas.appointments.service.utils.ServiceUtils.getEntityFromRepoById;
+
+/**
+ * Service class for managing appointments.
+ * Provides methods to book, fetch and cancel appointments, and to manage provider availability.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentsService implements Appointments {
+
+    // SQLSTATE Postgres reports for exclusion constraint violations
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final OfferedServicesRepository servicesRepository;
+    private final ProviderAvailabilityRepository availabilityRepository;
+    private final AppointmentMapper mapper;
+    private final AppointmentsProperties properties;
+    private final ProviderScheduleIndex scheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedLocks providerLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    @Override
+    public AppointmentResponse bookAppointment(AppointmentRequest appointmentRequest) {
+        OfferedService service = getEntityFromRepoById(appointmentRequest.serviceId(), servicesRepository);
+        Instant start = appointmentRequest.startTime();
+        Instant end = start.plus(durationOf(service));
+        String clientId = currentUserId();
+
+        // Rejects conflicts known to the index before queueing for the provider's lock, hits are confirmed by primary key
+        if (scheduleIndex.findOverlap(service.getOwnerId(), start, end).isPresent()) {
+            throw conflict(start, end);
+        }
+        return withRetry(() -> inProviderTransaction(service.getOwnerId(), () -> {
+            // Checked again under the lock, for bookings committed while this one was waiting
+            if (scheduleIndex.findOverlap(service.getOwnerId(), start, end).isPresent()) {
+                throw conflict(start, end);
+            }
+
+            Appointment appointment = Appointment.builder()
+                    .service(service)
+                    .providerId(service.getOwnerId())
+                    .clientId(clientId)
+                    .startTime(start)
+                    .endTime(end)
+                    .status(AppointmentStatus.BOOKED)
+                    .build();
+            try {
+                appointmentsRepository.saveAndFlush(appointment);
+            } catch (DataIntegrityViolationException e) {
+                if (isExclusionViolation(e)) {
+                    throw conflict(start, end);
+                }
+                throw e;
+            }
+
+            rememberWriter();
+            AppointmentResponse booked = mapper.toDto(appointment);
+            eventPublisher.publishEvent(AppointmentChangedEvent.booked(booked));
+            return booked;
+        }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentResponse getAppointmentById(Long id) {
+        return mapper.toDto(getParticipatedAppointment(id));
+    }
+
+    @Override
+    public AppointmentResponse cancelAppointment(Long id) {
+        String providerId = getParticipatedAppointment(id).getProviderId();
+
+        return withRetry(() -> inProviderTransaction(providerId, () -> {
+            // Reloaded in the transaction, a stale version fails the update and the attempt is retried
+            Appointment appointment = getParticipatedAppointment(id);
+            if (appointment.getStatus() == AppointmentStatus.CANCELLED) {
+                return mapper.toDto(appointment);
+            }
+
+            appointment.setStatus(AppointmentStatus.CANCELLED);
+            AppointmentResponse cancelled = mapper.toDto(appointmentsRepository.saveAndFlush(appointment));
+            rememberWriter();
+            eventPublisher.publishEvent(AppointmentChangedEvent.cancelled(cancelled));
+            return cancelled;
+        }));
+    }
+
+    @Override
+    @Transactional
+    public AvailabilityResponse setAvailability(LocalDate day, List<TimeRange> ranges) {
+        SlotBitmap slots = SlotBitmap.empty();
+        for (TimeRange range : ranges) {
+            int start = toSlot(range.start());
+            int end = range.end().equals(LocalTime.MIDNIGHT) ? SLOTS_PER_DAY : toSlot(range.end());
+            if (start >= end) {
+                throw new InvalidRequestException(String.format(ErrorMessage.INVALID_TIME_RANGE, SLOT_MINUTES));
+            }
+            slots.set(start, end);
+        }
+
+        String providerId = currentUserId();
+        ProviderAvailability availability = availabilityRepository.findByProviderIdAndDay(providerId, day)
+                .orElseGet(() -> ProviderAvailability.builder().providerId(providerId).day(day).build());
+        availability.setSlots(slots.toBytes());
+        availabilityRepository.save(availability);
+        rememberWriter();
+        return new AvailabilityResponse(providerId, day, toRanges(slots));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimeSlot> findFreeSlots(Long serviceId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= properties.maxFreeSlotDays()) {
+            throw new InvalidRequestException(String.format(ErrorMessage.INVALID_DATE_RANGE, properties.maxFreeSlotDays()));
+        }
+        OfferedService service = getEntityFromRepoById(serviceId, servicesRepository);
+        Duration duration = durationOf(service);
+        long length = Math.ceilDiv(duration.toSeconds(), SLOT_SECONDS);
+        if (length > SLOTS_PER_DAY) {
+            return List.of();
+        }
+
+        String providerId = service.getOwnerId();
+        Map<LocalDate, SlotBitmap> availableByDay = availabilityRepository.findByProviderIdAndDayBetween(providerId, from, to)
+                .stream()
+                .collect(Collectors.toMap(ProviderAvailability::getDay, availability -> SlotBitmap.fromBytes(availability.getSlots())));
+        List<ScheduledInterval> booked = appointmentsRepository.findBookedIntervalsBetween(providerId,
+                startOf(from), startOf(to.plusDays(1)));
+        Instant now = Instant.now();
+
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            SlotBitmap free = availableByDay.get(day);
+            if (free == null) {
+                continue;
+            }
+            Instant dayStart = startOf(day);
+            // Taken and past slots are cleared, then whatever set runs are long enough hold the service
+            for (ScheduledInterval interval : booked) {
+                free.clear(slotFloor(dayStart, interval.start()), slotCeil(dayStart, interval.end()));
+            }
+            free.clear(0, slotCeil(dayStart, now));
+
+            SlotBitmap starts = free.runStarts((int) length);
+            for (int slot = starts.nextSetBit(0); slot >= 0; slot = starts.nextSetBit(slot + 1)) {
+                Instant start = dayStart.plusSeconds(slot * SLOT_SECONDS);
+                freeSlots.add(new TimeSlot(start, start.plus(duration)));
+            }
+        }
+        return freeSlots;
+    }
+
+    /**
+     * Runs a change of a provider's schedule in its own transaction while holding the provider's lock.
+     * The transaction commits, and committed changes reach the {@link ProviderScheduleIndex},
+     * before the lock is released, so the next booking of the provider sees them.
+     */
+    private <T> T inProviderTransaction(String providerId, Supplier<T> change) {
+        Lock lock = providerLocks.get(providerId);
+        try {
+            if (!lock.tryLock(properties.booking().lockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException(ErrorMessage.PROVIDER_BUSY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException(ErrorMessage.PROVIDER_BUSY, e);
+        }
+        try {
+            return transactionTemplate.execute(status -> change.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retries an attempt failing on a concurrent change, e.g. an optimistic lock failure or a lock timeout,
+     * with exponential backoff and jitter, so competing instances do not retry in lockstep.
+     */
+    private <T> T withRetry(Supplier<T> attempt) {
+        AppointmentsProperties.Booking booking = properties.booking();
+        long backoffMillis = booking.initialBackoff().toMillis();
+        for (int attempts = 1; ; attempts++) {
+            try {
+                return attempt.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempts >= booking.maxAttempts()) {
+                    throw new AppointmentConflictException(ErrorMessage.CONCURRENT_MODIFICATION);
+                }
+                try {
+                    Thread.sleep(backoffMillis + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private Appointment getParticipatedAppointment(Long id) {
+        Appointment appointment = getEntityFromRepoById(id, appointmentsRepository);
+        String userId = currentUserId();
+        if (!userId.equals(appointment.getClientId()) && !userId.equals(appointment.getProviderId())) {
+            throw new AccessDeniedException(ErrorMessage.APPOINTMENT_NOT_PARTICIPANT);
+        }
+        return appointment;
+    }
+
+    /**
+     * Lets the current user read their write from the primary once it commits, when reads go to a replica.
+     */
+    private void rememberWriter() {
+        replicaRouting.ifAvailable(ReplicaRoutingDataSource::rememberWriterOnCommit);
+    }
+
+    private Duration durationOf(OfferedService service) {
+        return service.getDurationMinutes() == null
+                ? properties.defaultDuration()
+                : Duration.ofMinutes(service.getDurationMinutes());
+    }
+
+    private static int toSlot(LocalTime time) {
+        if (time.toSecondOfDay() % SLOT_SECONDS != 0 || time.getNano() != 0) {
+            throw new InvalidRequestException(String.format(ErrorMessage.INVALID_TIME_RANGE, SLOT_MINUTES));
+        }
+        return (int) (time.toSecondOfDay() / SLOT_SECONDS);
+    }
+
+    private static List<TimeRange> toRanges(SlotBitmap slots) {
+        List<TimeRange> ranges = new ArrayList<>();
+        for (int start = slots.nextSetBit(0); start >= 0; start = slots.nextSetBit(start)) {
+            int end = slots.nextClearBit(start);
+            ranges.add(new TimeRange(LocalTime.ofSecondOfDay(start * SLOT_SECONDS),
+                    end == SLOTS_PER_DAY ? LocalTime.MIDNIGHT : LocalTime.ofSecondOfDay(end * SLOT_SECONDS)));
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static int slotFloor(Instant dayStart, Instant time) {
+        return Math.clamp(Math.floorDiv(dayStart.until(time, ChronoUnit.SECONDS), SLOT_SECONDS), 0, SLOTS_PER_DAY);
+    }
+
+    private static int slotCeil(Instant dayStart, Instant time) {
+        return Math.clamp(Math.ceilDiv(dayStart.until(time, ChronoUnit.SECONDS), SLOT_SECONDS), 0, SLOTS_PER_DAY);
+    }
+
+    private static String currentUserId() {
+        return extractUserIdFromAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static AppointmentConflictException conflict(Instant start, Instant end) {
+        return new AppointmentConflictException(String.format(ErrorMessage.APPOINTMENT_CONFLICT, start, end));
+    }
+
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
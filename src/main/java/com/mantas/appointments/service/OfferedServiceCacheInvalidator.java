@@ -0,0 +1,289 @@
+package com.mantas.appointments.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mantas.appointments.config.ReplicaProperties;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.entity.OfferedService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.mantas.appointments.config.CachingConfig.SERVICES_CACHE;
+
+/**
+ * Keeps the caches of services consistent across instances.
+ * Postgres notifies every committed write of a service (see {@code schema.sql}), and this listener evicts the service
+ * from the second-level cache, the cached listing queries, the service response cache and the JSON cache.
+ * Writes of this instance are evicted too: code writing services around Hibernate evicts them right after commit,
+ * but a read that loaded the previous row before the commit can cache it again, and the notification arriving
+ * after that closes the window.
+ * Notifications carry the name and category of the service, which are applied to the {@link ServiceNameIndex}, as it
+ * only sees the change events of its own instance otherwise. Handling a notification never queries the database.
+ * All notifications received together are handled as one batch, so the cached listing queries are evicted once per
+ * batch rather than once per service, e.g. for bulk writes.
+ * While the listening connection is down notifications are lost, so all cached services are evicted on every
+ * (re)connect, and the name index is loaded again on reconnect.
+ * With a read replica, reads right after a write may cache the previous state again from the lagging replica, so
+ * every written service is evicted once more when the replica has caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfferedServiceCacheInvalidator implements SmartLifecycle {
+
+    static final String CHANNEL = "offered_service_changed";
+
+    // Payload of the markers sent by awaitNotifications, which never parses as a service
+    private static final String MARKER_PREFIX = "marker:";
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+    private static final ObjectReader PAYLOAD_READER = new ObjectMapper().readerFor(ServiceSuggestion.class);
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final OfferedServiceJsonCache jsonCache;
+    private final ReplicaProperties replicaProperties;
+    private final ServiceNameIndex nameIndex;
+
+    // Only touched by the listener thread, ordered by deadline as every eviction is delayed equally
+    private final Queue<DelayedEviction> delayedEvictions = new ArrayDeque<>();
+    private final Map<String, CountDownLatch> markers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("offered-service-invalidation").daemon().start(this::listen);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(Duration.ofMillis(POLL_TIMEOUT_MILLIS * 2L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Evicts a service written around Hibernate from the caches of this instance once the current transaction
+     * commits. Evicting earlier would let concurrent readers cache the previous state again.
+     *
+     * @param id ID of the written service
+     */
+    public void evictAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(List.of(id));
+            }
+        });
+    }
+
+    /**
+     * Waits until the notifications of all transactions committed before the call have been handled.
+     * Postgres delivers notifications in commit order, so once a marker notification sent now has been handled,
+     * so have all earlier ones. The marker is sent again every poll, in case the listener was not subscribed yet.
+     *
+     * @param timeout how long to wait at most
+     * @return whether the earlier notifications were handled within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitNotifications(Duration timeout) throws InterruptedException {
+        String marker = MARKER_PREFIX + UUID.randomUUID();
+        CountDownLatch handled = new CountDownLatch(1);
+        markers.put(marker, handled);
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            do {
+                sendMarker(marker);
+                if (handled.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } while (deadline - System.nanoTime() > 0);
+            return false;
+        } finally {
+            markers.remove(marker);
+        }
+    }
+
+    private void sendMarker(String marker) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, marker);
+            statement.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not send the notification marker " + marker, e);
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            // Holds one pooled connection for as long as the application runs
+            try (Connection connection = dataSource.getConnection()) {
+                subscribe(connection);
+                evictAll();
+                if (reconnect) {
+                    // The index loads itself once the application is ready
+                    reloadNameIndex();
+                }
+                reconnect = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        onNotifications(notifications);
+                    }
+                    evictDelayed();
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the service invalidation channel, reconnecting in {}: {}", RECONNECT_DELAY, e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void subscribe(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    private void onNotifications(PGNotification[] notifications) {
+        List<ServiceSuggestion> changed = new ArrayList<>(notifications.length);
+        List<String> receivedMarkers = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            if (notification.getParameter().startsWith(MARKER_PREFIX)) {
+                receivedMarkers.add(notification.getParameter());
+                continue;
+            }
+            try {
+                changed.add(PAYLOAD_READER.readValue(notification.getParameter()));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring malformed service change notification {}: {}", notification.getParameter(), e.getMessage());
+            }
+        }
+        if (!changed.isEmpty()) {
+            handle(changed);
+        }
+        // Only released once the notifications before them have been handled
+        for (String marker : receivedMarkers) {
+            CountDownLatch handled = markers.get(marker);
+            if (handled != null) {
+                handled.countDown();
+            }
+        }
+    }
+
+    private void handle(List<ServiceSuggestion> changed) {
+        List<Long> ids = changed.stream().map(ServiceSuggestion::id).toList();
+        Duration stalenessBound = replicaProperties.stalenessBound();
+        if (!stalenessBound.isZero()) {
+            long deadline = System.nanoTime() + stalenessBound.toNanos();
+            ids.forEach(id -> delayedEvictions.add(new DelayedEviction(deadline, id)));
+        }
+        evict(ids);
+        nameIndex.apply(changed);
+    }
+
+    private void evictDelayed() {
+        long now = System.nanoTime();
+        List<Long> ids = new ArrayList<>();
+        while (!delayedEvictions.isEmpty() && delayedEvictions.peek().deadline() - now <= 0) {
+            ids.add(delayedEvictions.poll().id());
+        }
+        if (!ids.isEmpty()) {
+            evict(ids);
+        }
+    }
+
+    private void reloadNameIndex() {
+        try {
+            nameIndex.load();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the name index: {}", e.getMessage());
+        }
+    }
+
+    private void evict(Collection<Long> ids) {
+        Cache services = cacheManager.getCache(SERVICES_CACHE);
+        for (Long id : ids) {
+            entityManagerFactory.getCache().evict(OfferedService.class, id);
+            if (services != null) {
+                services.evict(id);
+            }
+            jsonCache.evict(id);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private void evictAll() {
+        entityManagerFactory.getCache().evict(OfferedService.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        Cache services = cacheManager.getCache(SERVICES_CACHE);
+        if (services != null) {
+            services.clear();
+        }
+        jsonCache.evictAll();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record DelayedEviction(long deadline, Long id) {
+    }
+}
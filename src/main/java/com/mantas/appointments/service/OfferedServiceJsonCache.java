@@ -0,0 +1,194 @@
+package com.mantas.appointments.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mantas.appointments.config.ServicesProperties;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Cache of the JSON of services, so unchanged services are not serialized again on every read.
+ * The JSON is kept as UTF-8 bytes per service ID, together with the update time of the service it was written for.
+ * A service response is written by copying the cached bytes into the response, as long as its update time matches;
+ * otherwise it is serialized as usual and the cache is refreshed. This applies wherever a service is written as JSON,
+ * so single services and listings share the cached fragments. Binary formats are serialized as usual.
+ * <p>
+ * Entries are evicted through {@link OfferedServiceCacheInvalidator} when services change. A missed eviction
+ * only costs memory, because entries never match a newer version of the service.
+ */
+@Component
+public class OfferedServiceJsonCache {
+
+    /**
+     * Serialization attribute that bypasses the cache, for writers going through many services once,
+     * which would only push the frequently read ones out.
+     */
+    public static final String BYPASS_ATTRIBUTE = OfferedServiceJsonCache.class.getName() + ".bypass";
+
+    static final String CACHE_NAME = "services.json";
+
+    private final Cache<Long, JsonFragment> fragments;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+
+    // Resolved on first use, as the object mapper is built with the module of this cache
+    private volatile ObjectMapper jsonMapper;
+    private volatile ObjectWriter fragmentWriter;
+
+    /**
+     * Creates the cache, sized like the second-level cache of services.
+     *
+     * @param properties    the {@link ServicesProperties} with the cache size and time to live
+     * @param objectMapper  the object mapper of the JSON responses, which writes the cached JSON
+     * @param meterRegistry the registry the hit rate is published to, as the {@code cache.*} metrics of
+     *                      the {@code services.json} cache
+     */
+    public OfferedServiceJsonCache(ServicesProperties properties, ObjectProvider<ObjectMapper> objectMapper,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        ServicesProperties.Cache cache = properties.cache();
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(cache.maximumSize())
+                .expireAfterWrite(cache.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, fragments, CACHE_NAME));
+    }
+
+    /**
+     * Provides the Jackson module writing services from the cache.
+     *
+     * @return the module to register with the object mappers
+     */
+    public SimpleModule module() {
+        SimpleModule module = new SimpleModule(CACHE_NAME);
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                if (description.getBeanClass() == OfferedServiceResponse.class) {
+                    @SuppressWarnings("unchecked")
+                    JsonSerializer<OfferedServiceResponse> beanSerializer = (JsonSerializer<OfferedServiceResponse>) serializer;
+                    return new CachingSerializer(beanSerializer);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+
+    /**
+     * Evicts the JSON of a service.
+     *
+     * @param id ID of the changed service
+     */
+    public void evict(Long id) {
+        fragments.invalidate(id);
+    }
+
+    /**
+     * Evicts the JSON of all services.
+     */
+    public void evictAll() {
+        fragments.invalidateAll();
+    }
+
+    private ObjectMapper jsonMapper() {
+        ObjectMapper mapper = jsonMapper;
+        if (mapper == null) {
+            mapper = objectMapper.getIfUnique();
+            if (mapper != null) {
+                // The bypass keeps the fragment from being written through this cache again
+                fragmentWriter = mapper.writerFor(OfferedServiceResponse.class).withAttribute(BYPASS_ATTRIBUTE, true);
+                jsonMapper = mapper;
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Writes services from the cache into JSON written as UTF-8 by the object mapper of the JSON responses,
+     * whose configuration the cached JSON is written with. Other generators, such as those of the binary formats
+     * or of differently configured object mappers, are left to the bean serializer.
+     */
+    private class CachingSerializer extends StdSerializer<OfferedServiceResponse>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<OfferedServiceResponse> beanSerializer;
+
+        CachingSerializer(JsonSerializer<OfferedServiceResponse> beanSerializer) {
+            super(OfferedServiceResponse.class);
+            this.beanSerializer = beanSerializer;
+        }
+
+        @Override
+        public void serialize(OfferedServiceResponse service, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (!(generator instanceof UTF8JsonGenerator) || service.id() == null || service.updated() == null
+                    || provider.getAttribute(BYPASS_ATTRIBUTE) != null || generator.getCodec() != jsonMapper()) {
+                beanSerializer.serialize(service, generator, provider);
+                return;
+            }
+            JsonFragment fragment = fragments.getIfPresent(service.id());
+            if (fragment == null || !fragment.version().equals(service.updated())) {
+                fragment = new JsonFragment(service.updated(), new SerializedString(fragmentWriter.writeValueAsString(service)));
+                fragments.put(service.id(), fragment);
+            }
+            generator.writeRawValue(fragment.json());
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (beanSerializer instanceof ContextualSerializer contextual) {
+                @SuppressWarnings("unchecked")
+                JsonSerializer<OfferedServiceResponse> contextualized =
+                        (JsonSerializer<OfferedServiceResponse>) contextual.createContextual(provider, property);
+                return contextualized == beanSerializer ? this : new CachingSerializer(contextualized);
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (beanSerializer instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+    }
+
+    /**
+     * JSON of one version of a service. {@link SerializedString} keeps its UTF-8 encoding once computed,
+     * so the fragment is encoded when it is cached and copied as is on every later write.
+     *
+     * @param version update time of the service the JSON was written for
+     * @param json    the JSON of the service
+     */
+    private record JsonFragment(LocalDateTime version, SerializedString json) {
+
+        JsonFragment {
+            json.asUnquotedUTF8();
+        }
+    }
+}
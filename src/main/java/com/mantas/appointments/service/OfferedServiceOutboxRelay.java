@@ -0,0 +1,170 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.config.ServicesProperties;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.entity.OfferedServiceOutboxEvent;
+import com.mantas.appointments.event.OfferedServiceChangePublisher;
+import com.mantas.appointments.event.OfferedServiceChangedEvent;
+import com.mantas.appointments.event.OfferedServiceChangedEvent.ChangeType;
+import com.mantas.appointments.mapper.OfferedServiceMapper;
+import com.mantas.appointments.repository.OfferedServiceOutboxRepository;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Relays committed service changes from the outbox to the {@link OfferedServiceChangePublisher}.
+ * Postgres adds a change to the outbox in the transaction writing the service (see {@code schema.sql}), so the write
+ * path does not wait for downstream systems and no change is lost or published for a rolled back write.
+ * Only the ID of the service and the kind of change are recorded. The services of a batch are loaded in one query
+ * and mapped like API responses, so changes carry the state of the service when relayed. Creations and updates of
+ * services deleted since are left out, their deletion follows in the outbox.
+ * <p>
+ * The outbox is polled by a scheduled job at a fixed interval and drained in batches, each locked, published and
+ * deleted in one transaction. Batches are locked with {@code SKIP LOCKED}, so every instance can relay in parallel
+ * without publishing a change twice. Changes are published at least once: if publishing or deleting a batch fails,
+ * the transaction rolls back and the batch is relayed again. As concurrent relays publish their batches
+ * independently, consumers order changes of a service by its update time.
+ * <p>
+ * The application has no publisher of its own: relaying is disabled by default, and enabling it without an
+ * {@link OfferedServiceChangePublisher} bean fails at startup, so changes are never deleted without being delivered.
+ */
+@Slf4j
+@Component
+public class OfferedServiceOutboxRelay {
+
+    private final OfferedServiceOutboxRepository outboxRepository;
+    private final OfferedServicesRepository servicesRepository;
+    private final OfferedServiceMapper mapper;
+    private final OfferedServiceChangePublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ServicesProperties.Outbox properties;
+    private final Counter relayed;
+
+    /**
+     * Creates the relay.
+     *
+     * @param outboxRepository   the repository of the outbox
+     * @param servicesRepository the repository the changed services are loaded from
+     * @param mapper             the mapper of the changed services to their API representation
+     * @param publisher          the publisher the changes are relayed to, required when relaying is enabled
+     * @param transactionManager the transaction manager the batches are relayed in
+     * @param properties         the {@link ServicesProperties} with the outbox settings
+     * @param meterRegistry      the registry the number of relayed changes is published to, as
+     *                           {@code services.outbox.relayed}
+     */
+    public OfferedServiceOutboxRelay(OfferedServiceOutboxRepository outboxRepository,
+                                     OfferedServicesRepository servicesRepository,
+                                     OfferedServiceMapper mapper,
+                                     ObjectProvider<OfferedServiceChangePublisher> publisher,
+                                     PlatformTransactionManager transactionManager,
+                                     ServicesProperties properties,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.servicesRepository = servicesRepository;
+        this.mapper = mapper;
+        this.publisher = publisher.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties.outbox();
+        if (this.properties.enabled() && this.publisher == null) {
+            throw new IllegalStateException("Relaying the service outbox requires an OfferedServiceChangePublisher bean, "
+                    + "define one or disable app.services.outbox.enabled");
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.relayed = registry == null ? null : Counter.builder("services.outbox.relayed")
+                .description("Service changes relayed from the outbox to downstream systems")
+                .register(registry);
+    }
+
+    /**
+     * Relays batches until the outbox is drained, or only holds changes locked by other relays.
+     *
+     * @return the number of relayed changes
+     * @throws IllegalStateException if there is no publisher to relay the changes to
+     */
+    public int relay() {
+        if (publisher == null) {
+            throw new IllegalStateException("No OfferedServiceChangePublisher to relay the service outbox to");
+        }
+        int total = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            total += batch;
+        } while (batch == properties.batchSize());
+        return total;
+    }
+
+    /**
+     * Drains the outbox every poll interval, when relaying is enabled on this instance.
+     * Runs on the application's task scheduler, which waits for the current batch on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${app.services.outbox.poll-interval:1s}",
+            initialDelayString = "${app.services.outbox.poll-interval:1s}")
+    public void poll() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            // The failed batch stays in the outbox, logged briefly instead of by the scheduler's error handler
+            log.warn("Relaying service changes failed, retrying in {}: {}", properties.pollInterval(), e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OfferedServiceOutboxEvent> batch = outboxRepository.lockNextBatch(properties.batchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<OfferedServiceChangedEvent> changes = toChanges(batch);
+            if (!changes.isEmpty()) {
+                publisher.publish(changes);
+            }
+            outboxRepository.deleteAllByIdInBatch(batch.stream().map(OfferedServiceOutboxEvent::getId).toList());
+            return batch.size();
+        });
+        if (relayed != null && count != null) {
+            relayed.increment(count);
+        }
+        return count == null ? 0 : count;
+    }
+
+    private List<OfferedServiceChangedEvent> toChanges(List<OfferedServiceOutboxEvent> batch) {
+        Set<Long> written = batch.stream()
+                .filter(event -> event.getType() != ChangeType.DELETED)
+                .map(OfferedServiceOutboxEvent::getServiceId)
+                .collect(Collectors.toSet());
+        Map<Long, OfferedServiceResponse> services = new HashMap<>();
+        for (OfferedService service : servicesRepository.findAllById(written)) {
+            services.put(service.getId(), mapper.toDto(service));
+        }
+
+        List<OfferedServiceChangedEvent> changes = new ArrayList<>(batch.size());
+        for (OfferedServiceOutboxEvent event : batch) {
+            OfferedServiceResponse service = services.get(event.getServiceId());
+            if (event.getType() == ChangeType.DELETED) {
+                changes.add(OfferedServiceChangedEvent.deleted(event.getServiceId()));
+            } else if (service != null) {
+                changes.add(new OfferedServiceChangedEvent(event.getType(), event.getServiceId(), service));
+            }
+        }
+        return changes;
+    }
+}
@@ -1,19 +1,83 @@
 package com.mantas.appointments.service;
 
+import com.mantas.appointments.dto.OfferedServiceBulkUpdateRequest;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
 import com.mantas.appointments.dto.OfferedServiceRequest;
 import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.exception.BulkValidationException;
+import com.mantas.appointments.exception.InvalidRequestException;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OfferedServices {
 
     /**
-     * Fetches all services from the repository.
+     * Fetches a page of services ordered by ID.
      *
-     * @return List of all services as DTOs.
+     * @param cursor opaque token of the page to fetch, {@code null} for the first page.
+     * @param size   requested page size, {@code null} for the default size. Capped at the configured maximum.
+     * @return {@link PageResponse} with the services of the page and the cursor of the next one.
+     * @throws InvalidRequestException if the cursor is malformed or the size is not positive.
      */
-    List<OfferedServiceResponse> getAllServices();
+    PageResponse<OfferedServiceResponse> getAllServices(String cursor, Integer size);
+
+    /**
+     * Fetches a page of services matching the given filter, sorted by the given field and then by ID.
+     * Filtering, sorting and pagination are all done by the database in a single query.
+     *
+     * @param filter    criteria the services must match, {@code null} criteria are ignored.
+     * @param sortBy    field to sort by.
+     * @param direction sort direction, applied to both the sort field and the ID.
+     * @param cursor    opaque token of the page to fetch, {@code null} for the first page.
+     *                  Must come from a listing with the same filter and sort.
+     * @param size      requested page size, {@code null} for the default size. Capped at the configured maximum.
+     * @return {@link PageResponse} with the matching services of the page and the cursor of the next one.
+     * @throws InvalidRequestException if the cursor is malformed, the size is not positive or the price range is empty.
+     */
+    PageResponse<OfferedServiceResponse> filterServices(ServiceFilter filter, ServiceSort sortBy, Sort.Direction direction,
+                                                        String cursor, Integer size);
+
+    /**
+     * Full-text searches services by name and description.
+     * Results are ranked by relevance, with name matches ranking higher than description matches.
+     *
+     * @param query free text query, supports quoted phrases, {@code or} and {@code -} exclusions.
+     * @param page  zero based page of the ranked results.
+     * @param size  requested page size, {@code null} for the default size. Capped at the configured maximum.
+     * @return list of matching services as DTOs, best matches first.
+     * @throws InvalidRequestException if the query is blank, the size is not positive or the page is too deep.
+     */
+    List<OfferedServiceResponse> searchServices(String query, int page, Integer size);
+
+    /**
+     * Suggests services whose name starts with the given prefix, ignoring case and diacritics.
+     * Served from an in-memory index, so it is cheap enough to call on every keystroke.
+     *
+     * @param prefix   beginning of the service name typed so far.
+     * @param category category to restrict the suggestions to, {@code null} for all categories.
+     * @param limit    maximum number of suggestions, {@code null} for the default. Capped at the configured maximum.
+     * @return list of {@link ServiceSuggestion} in name order, empty for a blank prefix.
+     * @throws InvalidRequestException if the limit is not positive.
+     */
+    List<ServiceSuggestion> suggestServices(String prefix, Category category, Integer limit);
+
+    /**
+     * Streams all services in ID order to the given consumer.
+     * Services are read through a database cursor and handed over one by one,
+     * so memory use does not depend on the size of the catalog.
+     *
+     * @param consumer receives every service as a DTO.
+     */
+    void exportServices(Consumer<OfferedServiceResponse> consumer);
 
     /**
      * Fetches a service by its ID.
@@ -33,19 +97,60 @@ public interface OfferedServices {
     OfferedServiceResponse createService(OfferedServiceRequest offeredServiceRequest);
 
     /**
-     * Updates an existing service.
+     * Creates multiple services at once.
+     * All services are validated first and either all or none of them are created.
+     * Services are inserted in JDBC batches.
+     *
+     * @param offeredServiceRequests representing the services to create.
+     * @return list of {@link OfferedServiceResponse} representing the created services, in request order.
+     * @throws BulkValidationException if any of the services is invalid.
+     * @throws InvalidRequestException if the request contains more services than allowed.
+     */
+    List<OfferedServiceResponse> createServices(List<OfferedServiceRequest> offeredServiceRequests);
+
+    /**
+     * Updates multiple services owned by the authenticated user at once.
+     * All updates are validated first and either all or none of them are applied.
+     * Services are loaded and updated in JDBC batches, {@code null} fields are kept.
+     *
+     * @param updateRequests containing the IDs and new details of the services to update.
+     * @return list of {@link OfferedServiceResponse} representing the updated services, in request order.
+     * @throws BulkValidationException if any of the updates is invalid or a service is updated more than once.
+     * @throws InvalidRequestException if the request contains more services than allowed.
+     * @throws EntityNotFoundException if no service exists with one of the given IDs.
+     * @throws AccessDeniedException   if one of the services is owned by another user.
+     */
+    List<OfferedServiceResponse> updateServices(List<OfferedServiceBulkUpdateRequest> updateRequests);
+
+    /**
+     * Updates an existing service owned by the authenticated user.
      *
      * @param id                    ID of the service to update.
      * @param offeredServiceRequest containing the new details for the service.
      * @return {@link OfferedServiceResponse} representing the updated service.
+     * @throws EntityNotFoundException if no service exists with the given ID.
+     * @throws AccessDeniedException   if the service is owned by another user.
      */
     OfferedServiceResponse updateService(Long id, OfferedServiceRequest offeredServiceRequest);
 
     /**
-     * Deletes a service by its ID.
+     * Changes the given fields of a service owned by the authenticated user in a single database statement,
+     * without loading it first.
+     *
+     * @param id           ID of the service to update.
+     * @param patchRequest containing the fields to change, {@code null} fields are kept.
+     * @return {@link OfferedServiceResponse} representing the updated service.
+     * @throws EntityNotFoundException if no service exists with the given ID.
+     * @throws AccessDeniedException   if the service is owned by another user.
+     */
+    OfferedServiceResponse patchService(Long id, OfferedServicePatchRequest patchRequest);
+
+    /**
+     * Deletes a service owned by the authenticated user by its ID.
      *
      * @param id ID of the service to delete.
      * @throws EntityNotFoundException if no service is found with the given ID.
+     * @throws AccessDeniedException   if the service is owned by another user.
      */
     void deleteService(Long id);
 }
@@ -1,46 +1,176 @@
 package com.mantas.appointments.service;
 
+import com.mantas.appointments.dto.OfferedServiceBulkUpdateRequest;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
 import com.mantas.appointments.dto.OfferedServiceRequest;
+import com.mantas.appointments.config.ReplicaRoutingDataSource;
+import com.mantas.appointments.config.ServicesProperties;
 import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.entity.Category;
 import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.event.OfferedServiceChangedEvent;
+import com.mantas.appointments.exception.BulkValidationException;
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.exception.InvalidRequestException;
 import com.mantas.appointments.mapper.OfferedServiceMapper;
 import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.service.utils.PageCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static com.mantas.appointments.config.CachingConfig.SERVICES_CACHE;
+import static com.mantas.appointments.repository.OfferedServiceSpecifications.after;
+import static com.mantas.appointments.repository.OfferedServiceSpecifications.hasCategory;
+import static com.mantas.appointments.repository.OfferedServiceSpecifications.hasOwner;
+import static com.mantas.appointments.repository.OfferedServiceSpecifications.priceAtLeast;
+import static com.mantas.appointments.repository.OfferedServiceSpecifications.priceAtMost;
 import static com.mantas.appointments.service.utils.ServiceUtils.extractUserIdFromAuthentication;
 import static com.mantas.appointments.service.utils.ServiceUtils.getEntityFromRepoById;
 
 /**
  * Service class for managing services.
  * Provides methods to fetch, create, update, and delete services.
+ * Every operation is timed as {@code services.operations}, tagged with the method name.
+ * Reads run in read-only transactions, which are served by the read replica when one is configured.
  */
 @Service
 @RequiredArgsConstructor
+@CacheConfig(cacheNames = SERVICES_CACHE)
+@Timed(value = "services.operations", description = "Time spent in the offered services layer", histogram = true)
 public class OfferedServicesService implements OfferedServices {
 
     private final OfferedServicesRepository servicesRepository;
     private final OfferedServiceMapper mapper;
+    private final ServicesProperties properties;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ServiceNameIndex nameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OfferedServiceCacheInvalidator cacheInvalidator;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+    private final DateTimeProvider auditingDateTimeProvider;
 
     @Override
-    public List<OfferedServiceResponse> getAllServices() {
-        return servicesRepository.findAll()
+    @Transactional(readOnly = true)
+    public PageResponse<OfferedServiceResponse> getAllServices(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Long afterId = cursor == null ? 0L : PageCursor.decode(cursor).id();
+
+        // Fetch one extra row to find out whether there is a next page
+        List<OfferedService> services = servicesRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return toPage(services, pageSize, last -> new PageCursor(last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OfferedServiceResponse> filterServices(ServiceFilter filter, ServiceSort sortBy, Sort.Direction direction,
+                                                               String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice().compareTo(filter.maxPrice()) > 0) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_PRICE_RANGE);
+        }
+
+        List<Specification<OfferedService>> criteria = new ArrayList<>(Stream.of(
+                        hasCategory(filter.category()),
+                        priceAtLeast(filter.minPrice()),
+                        priceAtMost(filter.maxPrice()),
+                        hasOwner(filter.ownerId()))
+                .filter(Objects::nonNull)
+                .toList());
+        if (cursor != null) {
+            criteria.add(afterCursor(PageCursor.decode(cursor), sortBy, direction));
+        }
+        Sort sort = sortBy == ServiceSort.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy.attribute(), "id");
+
+        List<OfferedService> services = servicesRepository.findBy(Specification.allOf(criteria),
+                query -> query.sortBy(sort).limit(pageSize + 1).all());
+        return toPage(services, pageSize, last -> new PageCursor(last.getId(), sortBy.keyOf(last)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OfferedServiceResponse> searchServices(String query, int page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException(ErrorMessage.SEARCH_QUERY_BLANK);
+        }
+        int pageSize = resolvePageSize(size);
+        int maxResults = properties.search().maxResults();
+        if (page < 0 || (long) (page + 1) * pageSize > maxResults) {
+            throw new InvalidRequestException(String.format(ErrorMessage.SEARCH_TOO_DEEP, maxResults));
+        }
+        return servicesRepository.searchByText(query, pageSize, page * pageSize)
                 .stream()
                 .map(mapper::toDto)
                 .toList();
     }
 
     @Override
+    public List<ServiceSuggestion> suggestServices(String prefix, Category category, Integer limit) {
+        ServicesProperties.Suggest suggest = properties.suggest();
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_SUGGEST_LIMIT);
+        }
+        int maxSuggestions = Math.min(limit == null ? suggest.defaultLimit() : limit, suggest.maxLimit());
+        return nameIndex.suggest(prefix, category, maxSuggestions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportServices(Consumer<OfferedServiceResponse> consumer) {
+        try (Stream<OfferedService> services = servicesRepository.streamAll()) {
+            services.forEach(service -> {
+                consumer.accept(mapper.toDto(service));
+                // Detach written rows so the persistence context does not grow with the catalog
+                entityManager.detach(service);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(key = "#id")
     public OfferedServiceResponse getServiceById(Long id) {
         return mapper.toDto(getEntityFromRepoById(id, servicesRepository));
     }
 
     @Override
+    @CachePut(key = "#result.id")
     public OfferedServiceResponse createService(OfferedServiceRequest offeredServiceRequest) {
         OfferedService offeredService = mapper.toEntity(offeredServiceRequest);
 
@@ -48,23 +178,226 @@ public class OfferedServicesService implements OfferedServices {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         offeredService.setOwnerId(extractUserIdFromAuthentication(authentication));
 
-        return mapper.toDto(servicesRepository.save(offeredService));
+        OfferedServiceResponse created = mapper.toDto(servicesRepository.save(offeredService));
+        rememberWriter();
+        eventPublisher.publishEvent(OfferedServiceChangedEvent.created(created));
+        return created;
     }
 
     @Override
-    public OfferedServiceResponse updateService(Long id, OfferedServiceRequest serviceDetails) {
-        OfferedService offeredService = getEntityFromRepoById(id, servicesRepository);
+    @Transactional
+    public List<OfferedServiceResponse> createServices(List<OfferedServiceRequest> offeredServiceRequests) {
+        ServicesProperties.Bulk bulk = properties.bulk();
+        if (offeredServiceRequests.size() > bulk.maxItems()) {
+            throw new InvalidRequestException(String.format(ErrorMessage.BULK_TOO_LARGE, bulk.maxItems()));
+        }
+        validateBulkRequest(offeredServiceRequests);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String ownerId = extractUserIdFromAuthentication(authentication);
+
+        List<OfferedServiceResponse> created = new ArrayList<>(offeredServiceRequests.size());
+        for (int from = 0; from < offeredServiceRequests.size(); from += bulk.chunkSize()) {
+            List<OfferedService> chunk = offeredServiceRequests
+                    .subList(from, Math.min(from + bulk.chunkSize(), offeredServiceRequests.size()))
+                    .stream()
+                    .map(mapper::toEntity)
+                    .toList();
+            chunk.forEach(offeredService -> offeredService.setOwnerId(ownerId));
+
+            servicesRepository.saveAll(chunk);
+            // Send the chunk as JDBC batches and release it, so the persistence context stays small
+            entityManager.flush();
+            chunk.forEach(offeredService -> created.add(mapper.toDto(offeredService)));
+            entityManager.clear();
+        }
+        rememberWriter();
+        // Delivered to transactional listeners only once the whole batch is committed
+        created.forEach(service -> eventPublisher.publishEvent(OfferedServiceChangedEvent.created(service)));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<OfferedServiceResponse> updateServices(List<OfferedServiceBulkUpdateRequest> updateRequests) {
+        ServicesProperties.Bulk bulk = properties.bulk();
+        if (updateRequests.size() > bulk.maxItems()) {
+            throw new InvalidRequestException(String.format(ErrorMessage.BULK_TOO_LARGE, bulk.maxItems()));
+        }
+        validateBulkRequest(updateRequests);
+        validateUniqueIds(updateRequests);
+
+        String ownerId = currentUserId();
+        List<OfferedServiceResponse> updated = new ArrayList<>(updateRequests.size());
+        for (int from = 0; from < updateRequests.size(); from += bulk.chunkSize()) {
+            List<OfferedServiceBulkUpdateRequest> chunk =
+                    updateRequests.subList(from, Math.min(from + bulk.chunkSize(), updateRequests.size()));
+            Map<Long, OfferedService> services = new HashMap<>();
+            servicesRepository.findAllById(chunk.stream().map(OfferedServiceBulkUpdateRequest::id).toList())
+                    .forEach(service -> services.put(service.getId(), service));
+
+            List<OfferedService> changed = new ArrayList<>(chunk.size());
+            for (OfferedServiceBulkUpdateRequest request : chunk) {
+                OfferedService service = services.get(request.id());
+                if (service == null) {
+                    throw new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + request.id());
+                }
+                if (!ownerId.equals(service.getOwnerId())) {
+                    throw new AccessDeniedException(ErrorMessage.SERVICE_NOT_OWNER);
+                }
+                mapper.updateEntity(request.service(), service);
+                changed.add(service);
+            }
+            // Send the chunk as JDBC batches and release it, so the persistence context stays small
+            entityManager.flush();
+            changed.forEach(service -> updated.add(mapper.toDto(service)));
+            entityManager.clear();
+        }
+        rememberWriter();
+        updated.forEach(service -> {
+            // Hibernate keeps its own caches current, the response cache still holds the previous state
+            cacheInvalidator.evictAfterCommit(service.id());
+            eventPublisher.publishEvent(OfferedServiceChangedEvent.updated(service));
+        });
+        return updated;
+    }
 
-        Optional.ofNullable(serviceDetails.name()).ifPresent(offeredService::setName);
-        Optional.ofNullable(serviceDetails.description()).ifPresent(offeredService::setDescription);
-        Optional.ofNullable(serviceDetails.category()).ifPresent(offeredService::setCategory);
-        Optional.ofNullable(serviceDetails.price()).ifPresent(offeredService::setPrice);
+    @Override
+    @Transactional
+    public OfferedServiceResponse updateService(Long id, OfferedServiceRequest serviceDetails) {
+        return patch(id, OfferedServicePatchRequest.builder()
+                .name(serviceDetails.name())
+                .description(serviceDetails.description())
+                .price(serviceDetails.price())
+                .category(serviceDetails.category())
+                .durationMinutes(serviceDetails.durationMinutes())
+                .build());
+    }
 
-        return mapper.toDto(servicesRepository.save(offeredService));
+    @Override
+    @Transactional
+    public OfferedServiceResponse patchService(Long id, OfferedServicePatchRequest patchRequest) {
+        return patch(id, patchRequest);
     }
 
     @Override
+    @Transactional
     public void deleteService(Long id) {
-        servicesRepository.deleteById(id);
+        if (servicesRepository.deleteByIdAndOwnerId(id, currentUserId()) == 0) {
+            throw notOwnedFailure(id);
+        }
+        rememberWriter();
+        // Evicted only once the delete commits, so a concurrent read cannot cache the service again before it is gone
+        cacheInvalidator.evictAfterCommit(id);
+        eventPublisher.publishEvent(OfferedServiceChangedEvent.deleted(id));
+    }
+
+    private OfferedServiceResponse patch(Long id, OfferedServicePatchRequest patchRequest) {
+        Category category = patchRequest.category();
+        // Stamped by the JVM clock like audited writes, not by the database clock
+        LocalDateTime now = LocalDateTime.from(auditingDateTimeProvider.getNow().orElseThrow());
+        // A managed instance of the service would be returned as it is instead of the updated row
+        entityManager.flush();
+        entityManager.clear();
+        OfferedService patched = servicesRepository.patchByIdAndOwnerId(id, currentUserId(), patchRequest.name(),
+                        patchRequest.description(), patchRequest.price(), category == null ? null : category.name(),
+                        patchRequest.durationMinutes(), now)
+                .orElseThrow(() -> notOwnedFailure(id));
+        rememberWriter();
+        // The update bypassed Hibernate, so its caches and the response cache still hold the previous state
+        cacheInvalidator.evictAfterCommit(id);
+
+        OfferedServiceResponse updated = mapper.toDto(patched);
+        eventPublisher.publishEvent(OfferedServiceChangedEvent.updated(updated));
+        return updated;
+    }
+
+    /**
+     * Lets the current user read their write from the primary once it commits, when reads go to a replica.
+     */
+    private void rememberWriter() {
+        replicaRouting.ifAvailable(ReplicaRoutingDataSource::rememberWriterOnCommit);
+    }
+
+    /**
+     * Tells why a write scoped to the owner changed no row. Only looked up once the write has failed,
+     * so successful writes take a single statement.
+     */
+    private RuntimeException notOwnedFailure(Long id) {
+        return servicesRepository.existsById(id)
+                ? new AccessDeniedException(ErrorMessage.SERVICE_NOT_OWNER)
+                : new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + id);
+    }
+
+    private static String currentUserId() {
+        return extractUserIdFromAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void validateBulkRequest(List<?> bulkRequest) {
+        Map<String, String> validationErrors = new LinkedHashMap<>();
+        for (int i = 0; i < bulkRequest.size(); i++) {
+            Object request = bulkRequest.get(i);
+            if (request == null) {
+                validationErrors.put("[" + i + "]", ErrorMessage.BULK_ITEM_NULL);
+                continue;
+            }
+            String prefix = "[" + i + "].";
+            validator.validate(request).forEach(violation ->
+                    validationErrors.put(prefix + violation.getPropertyPath(), violation.getMessage()));
+        }
+        if (!validationErrors.isEmpty()) {
+            throw new BulkValidationException(validationErrors);
+        }
+    }
+
+    private static void validateUniqueIds(List<OfferedServiceBulkUpdateRequest> updateRequests) {
+        Map<String, String> validationErrors = new LinkedHashMap<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < updateRequests.size(); i++) {
+            if (!ids.add(updateRequests.get(i).id())) {
+                validationErrors.put("[" + i + "].id", ErrorMessage.BULK_DUPLICATE_ID);
+            }
+        }
+        if (!validationErrors.isEmpty()) {
+            throw new BulkValidationException(validationErrors);
+        }
+    }
+
+    private PageResponse<OfferedServiceResponse> toPage(List<OfferedService> services, int pageSize,
+                                                        Function<OfferedService, PageCursor> cursorOf) {
+        boolean hasNext = services.size() > pageSize;
+        List<OfferedService> page = hasNext ? services.subList(0, pageSize) : services;
+
+        String nextCursor = hasNext ? cursorOf.apply(page.getLast()).encode() : null;
+        return new PageResponse<>(page.stream().map(mapper::toDto).toList(), nextCursor);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Specification<OfferedService> afterCursor(PageCursor cursor, ServiceSort sortBy, Sort.Direction direction) {
+        if (sortBy == ServiceSort.ID) {
+            if (cursor.key() != null) {
+                throw new InvalidRequestException(ErrorMessage.INVALID_CURSOR);
+            }
+            return after(null, null, cursor.id(), direction);
+        }
+        if (cursor.key() == null) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_CURSOR);
+        }
+        try {
+            return after(sortBy.attribute(), (Comparable) sortBy.parseKey(cursor.key()), cursor.id(), direction);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_CURSOR);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        ServicesProperties.Pagination pagination = properties.pagination();
+        if (size == null) {
+            return Math.min(pagination.defaultPageSize(), pagination.maxPageSize());
+        }
+        if (size < 1) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_PAGE_SIZE);
+        }
+        return Math.min(size, pagination.maxPageSize());
     }
-}
\ No newline at end of file
+}
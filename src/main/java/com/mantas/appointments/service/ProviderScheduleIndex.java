@@ -0,0 +1,197 @@
+package com.mantas.appointments.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mantas.appointments.config.AppointmentsProperties;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.entity.AppointmentStatus;
+import com.mantas.appointments.event.AppointmentChangedEvent;
+import com.mantas.appointments.repository.AppointmentsRepository;
+import com.mantas.appointments.repository.ScheduledInterval;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the booked, not yet finished appointments of each provider, used to detect overlaps.
+ * The booked intervals of a provider never overlap, so keeping them sorted by start is enough to answer
+ * whether a new interval overlaps any of them with a single {@link TreeMap#lowerEntry} lookup,
+ * no matter how many appointments the provider has.
+ * <p>
+ * A provider's schedule is loaded from the database on first use and then kept up to date from committed
+ * {@link AppointmentChangedEvent}s. Changes committed while the schedule loads are applied once it is loaded.
+ * The index is a fast path only: a free interval is not checked any further, as the {@code appointment_no_overlap}
+ * exclusion constraint stays the authority, e.g. for bookings made by other instances. An overlap is confirmed
+ * against the database before it is reported, so appointments cancelled elsewhere never reject a booking.
+ * <p>
+ * Schedules of providers nobody books with for a while are dropped, as are rarely used ones once the configured
+ * number of providers is reached, and loaded again on their next use.
+ */
+@Component
+public class ProviderScheduleIndex {
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final Map<String, ProviderSchedule> schedules;
+
+    /**
+     * Creates the index without any schedules loaded.
+     *
+     * @param appointmentsRepository the repository the schedules are loaded from
+     * @param properties             the {@link AppointmentsProperties} with the number of schedules kept and their
+     *                               time to live
+     */
+    public ProviderScheduleIndex(AppointmentsRepository appointmentsRepository, AppointmentsProperties properties) {
+        AppointmentsProperties.ScheduleIndex scheduleIndex = properties.scheduleIndex();
+        Cache<String, ProviderSchedule> cache = Caffeine.newBuilder()
+                .maximumSize(scheduleIndex.maximumProviders())
+                .expireAfterAccess(scheduleIndex.expireAfterAccess())
+                .build();
+        this.appointmentsRepository = appointmentsRepository;
+        this.schedules = cache.asMap();
+    }
+
+    /**
+     * Finds a booked appointment of the provider overlapping the given interval.
+     * Overlapping appointments the database no longer has booked are dropped from the index on the way.
+     *
+     * @param providerId Keycloak user ID of the provider
+     * @param start      start of the interval
+     * @param end        end of the interval, exclusive
+     * @return an overlapping booked appointment, empty if the provider is free for the whole interval
+     * or their schedule is still being loaded by another thread
+     */
+    public Optional<ScheduledInterval> findOverlap(String providerId, Instant start, Instant end) {
+        ProviderSchedule schedule = scheduleOf(providerId);
+        Optional<ScheduledInterval> overlap = schedule.findOverlap(start, end);
+        // Each stale hit is removed, so this ends once the index agrees with the database
+        while (overlap.isPresent()
+                && !appointmentsRepository.existsByIdAndStatus(overlap.get().appointmentId(), AppointmentStatus.BOOKED)) {
+            schedule.remove(overlap.get());
+            overlap = schedule.findOverlap(start, end);
+        }
+        return overlap;
+    }
+
+    /**
+     * Applies a committed booking or cancellation to the schedule of its provider.
+     * Providers whose schedule is not loaded are skipped, they read the change from the database on next use.
+     *
+     * @param event the {@link AppointmentChangedEvent} to apply
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        AppointmentResponse appointment = event.appointment();
+        ProviderSchedule schedule = schedules.get(appointment.providerId());
+        if (schedule != null) {
+            schedule.apply(event.type(), new ScheduledInterval(appointment.id(), appointment.startTime(), appointment.endTime()));
+        }
+    }
+
+    private ProviderSchedule scheduleOf(String providerId) {
+        ProviderSchedule schedule = schedules.get(providerId);
+        if (schedule != null) {
+            return schedule;
+        }
+        // Registered before loading, so changes committed while the query runs are not missed
+        ProviderSchedule created = new ProviderSchedule();
+        ProviderSchedule existing = schedules.putIfAbsent(providerId, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            // Loaded outside the map so the query does not block other providers
+            created.load(appointmentsRepository.findBookedIntervals(providerId, Instant.now()));
+        } catch (RuntimeException e) {
+            schedules.remove(providerId, created);
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * Disjoint booked intervals of a single provider, keyed by start.
+     * Until the intervals are loaded, changes are queued and lookups find no overlap.
+     */
+    static final class ProviderSchedule {
+
+        private final NavigableMap<Instant, ScheduledInterval> intervals = new TreeMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<Change> pending = new ArrayList<>();
+
+        void load(List<ScheduledInterval> booked) {
+            lock.lock();
+            try {
+                booked.forEach(interval -> intervals.put(interval.start(), interval));
+                // Replayed on top of the loaded state in commit order, both kinds of change are idempotent
+                pending.forEach(change -> applyLoaded(change.type(), change.interval()));
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Optional<ScheduledInterval> findOverlap(Instant start, Instant end) {
+            lock.lock();
+            try {
+                if (pending != null) {
+                    return Optional.empty();
+                }
+                // Only the last interval starting before the end can reach into [start, end)
+                Map.Entry<Instant, ScheduledInterval> previous = intervals.lowerEntry(end);
+                if (previous != null && previous.getValue().end().isAfter(start)) {
+                    return Optional.of(previous.getValue());
+                }
+                return Optional.empty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void apply(AppointmentChangedEvent.ChangeType type, ScheduledInterval interval) {
+            lock.lock();
+            try {
+                if (pending != null) {
+                    pending.add(new Change(type, interval));
+                } else {
+                    applyLoaded(type, interval);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(ScheduledInterval interval) {
+            apply(AppointmentChangedEvent.ChangeType.CANCELLED, interval);
+        }
+
+        private void applyLoaded(AppointmentChangedEvent.ChangeType type, ScheduledInterval interval) {
+            switch (type) {
+                case BOOKED -> {
+                    // Finished appointments can no longer conflict, drop them instead of letting the schedule grow
+                    Instant now = Instant.now();
+                    while (!intervals.isEmpty() && !intervals.firstEntry().getValue().end().isAfter(now)) {
+                        intervals.pollFirstEntry();
+                    }
+                    intervals.put(interval.start(), interval);
+                }
+                case CANCELLED -> {
+                    ScheduledInterval current = intervals.get(interval.start());
+                    if (current != null && current.appointmentId().equals(interval.appointmentId())) {
+                        intervals.remove(interval.start());
+                    }
+                }
+            }
+        }
+
+        private record Change(AppointmentChangedEvent.ChangeType type, ScheduledInterval interval) {
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.event.OfferedServiceChangedEvent;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over service names, used for autocomplete.
+ * Names are folded to lower case without diacritics and kept in sorted skip lists, one over all services and one per
+ * {@link Category}, so a prefix lookup is a range scan that never touches the database.
+ * Loaded at startup and kept up to date from {@link OfferedServiceChangedEvent}s of this instance and from the change
+ * notifications of all instances, see {@link OfferedServiceCacheInvalidator}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceNameIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final OfferedServicesRepository servicesRepository;
+
+    private final NavigableMap<String, ServiceSuggestion> allNames = new ConcurrentSkipListMap<>();
+    private final Map<Category, NavigableMap<String, ServiceSuggestion>> namesByCategory = new EnumMap<>(Category.class);
+    private final Map<Long, ServiceSuggestion> suggestionsById = new ConcurrentHashMap<>();
+
+    // Writers are rare, so they are serialized; readers only go through the concurrent maps
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Set<Long> changedWhileLoading;
+
+    {
+        for (Category category : Category.values()) {
+            namesByCategory.put(category, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Loads the names of all services into the index, and drops services that no longer exist.
+     * Services changed while loading keep the state from their change events.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        writeLock.lock();
+        try {
+            changedWhileLoading = new HashSet<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Set<Long> loaded = new HashSet<>();
+        try (Stream<ServiceSuggestion> names = servicesRepository.streamNames()) {
+            for (ServiceSuggestion suggestion : (Iterable<ServiceSuggestion>) names::iterator) {
+                writeLock.lock();
+                try {
+                    if (!changedWhileLoading.contains(suggestion.id())) {
+                        replace(suggestion.id(), suggestion);
+                        loaded.add(suggestion.id());
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            writeLock.lock();
+            try {
+                // Only left from an earlier load, when services were deleted while notifications were lost
+                for (Long id : List.copyOf(suggestionsById.keySet())) {
+                    if (!loaded.contains(id) && !changedWhileLoading.contains(id)) {
+                        replace(id, null);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                changedWhileLoading = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        log.info("Loaded {} service names into the suggestion index", loaded.size());
+    }
+
+    /**
+     * Applies a committed service change to the index.
+     *
+     * @param event the {@link OfferedServiceChangedEvent} to apply
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceChanged(OfferedServiceChangedEvent event) {
+        writeLock.lock();
+        try {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(event.id());
+            }
+            replace(event.id(), event.service() == null
+                    ? null
+                    : new ServiceSuggestion(event.id(), event.service().name(), event.service().category()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the committed state of services written on any instance, as announced by their change notifications.
+     * The whole batch is applied under a single lock, without touching the database.
+     *
+     * @param services the written services in commit order, without a name if they were deleted
+     */
+    public void apply(List<ServiceSuggestion> services) {
+        writeLock.lock();
+        try {
+            for (ServiceSuggestion service : services) {
+                if (changedWhileLoading != null) {
+                    changedWhileLoading.add(service.id());
+                }
+                replace(service.id(), service);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Finds services whose name starts with the given prefix, ignoring case and diacritics.
+     *
+     * @param prefix   the name prefix to look for
+     * @param category category to restrict the suggestions to, {@code null} for all categories
+     * @param limit    maximum number of suggestions to return
+     * @return matching services in name order
+     */
+    public List<ServiceSuggestion> suggest(String prefix, Category category, int limit) {
+        String foldedPrefix = fold(prefix);
+        if (foldedPrefix.isEmpty()) {
+            return List.of();
+        }
+        NavigableMap<String, ServiceSuggestion> names = category == null ? allNames : namesByCategory.get(category);
+        List<ServiceSuggestion> suggestions = new ArrayList<>(limit);
+        for (ServiceSuggestion suggestion : names.subMap(foldedPrefix, true, foldedPrefix + Character.MAX_VALUE, true).values()) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Folds a name for case and diacritic insensitive matching, e.g. {@code Épilation} to {@code epilation}.
+     *
+     * @param name the name to fold
+     * @return the folded name
+     */
+    static String fold(String name) {
+        String decomposed = Normalizer.normalize(name.strip(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // The new entries are added before the previous ones are dropped, so readers never miss a service written again
+    // under the same name, e.g. by both its change event and its notification
+    private void replace(Long id, ServiceSuggestion suggestion) {
+        ServiceSuggestion previous = suggestionsById.remove(id);
+        String key = null;
+        if (suggestion != null && suggestion.name() != null) {
+            key = key(suggestion);
+            allNames.put(key, suggestion);
+            if (suggestion.category() != null) {
+                namesByCategory.get(suggestion.category()).put(key, suggestion);
+            }
+            suggestionsById.put(id, suggestion);
+        }
+        if (previous == null) {
+            return;
+        }
+        String previousKey = key(previous);
+        boolean sameKey = previousKey.equals(key);
+        if (!sameKey) {
+            allNames.remove(previousKey);
+        }
+        if (previous.category() != null && (!sameKey || previous.category() != suggestion.category())) {
+            namesByCategory.get(previous.category()).remove(previousKey);
+        }
+    }
+
+    private static String key(ServiceSuggestion suggestion) {
+        // The ID keeps services with the same name apart
+        return fold(suggestion.name()) + KEY_SEPARATOR + suggestion.id();
+    }
+}
@@ -0,0 +1,58 @@
+package com.mantas.appointments.service.utils;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset paginated listing.
+ * Encoded as an opaque URL safe token, so clients cannot depend on its structure.
+ *
+ * @param id  ID of the last item of the previous page
+ * @param key sort key of the last item of the previous page, {@code null} when the listing is sorted by ID only
+ */
+public record PageCursor(Long id, String key) {
+
+    private static final char KEY_SEPARATOR = ':';
+
+    /**
+     * Creates a cursor of a listing sorted by ID only.
+     *
+     * @param id ID of the last item of the previous page
+     */
+    public PageCursor(Long id) {
+        this(id, null);
+    }
+
+    /**
+     * Encodes the cursor into an opaque token.
+     *
+     * @return URL safe token representing this cursor
+     */
+    public String encode() {
+        String raw = key == null ? String.valueOf(id) : id + String.valueOf(KEY_SEPARATOR) + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously created by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded {@link PageCursor}
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(KEY_SEPARATOR);
+            if (separator < 0) {
+                return new PageCursor(Long.parseLong(decoded));
+            }
+            return new PageCursor(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(ErrorMessage.INVALID_CURSOR);
+        }
+    }
+}
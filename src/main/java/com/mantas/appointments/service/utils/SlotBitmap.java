@@ -0,0 +1,182 @@
+package com.mantas.appointments.service.utils;
+
+import java.util.Arrays;
+
+/**
+ * Set of the 5 minute slots of a single day, one bit per slot.
+ * The 288 slots of a day fit into five {@code long} words, so whole days are combined and searched
+ * with a handful of word operations instead of per slot loops.
+ */
+public final class SlotBitmap {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int BYTES = (SLOTS_PER_DAY + 7) / 8;
+
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+    // Bits of the last word past the end of the day, which must always stay clear
+    private static final long LAST_WORD_MASK = -1L >>> (WORDS * 64 - SLOTS_PER_DAY);
+
+    private final long[] words;
+
+    private SlotBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Creates a bitmap without any slots set.
+     *
+     * @return an empty bitmap
+     */
+    public static SlotBitmap empty() {
+        return new SlotBitmap(new long[WORDS]);
+    }
+
+    /**
+     * Restores a bitmap stored with {@link #toBytes()}.
+     *
+     * @param bytes the stored bitmap, {@code null} for an empty one
+     * @return the restored bitmap
+     */
+    public static SlotBitmap fromBytes(byte[] bytes) {
+        long[] words = new long[WORDS];
+        if (bytes != null) {
+            for (int i = 0; i < Math.min(bytes.length, BYTES); i++) {
+                words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+            }
+            words[WORDS - 1] &= LAST_WORD_MASK;
+        }
+        return new SlotBitmap(words);
+    }
+
+    /**
+     * Serializes the bitmap into {@value #BYTES} bytes, slot 0 in the lowest bit of the first byte.
+     *
+     * @return the serialized bitmap
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * Sets the slots in {@code [from, to)}.
+     *
+     * @param from first slot to set
+     * @param to   slot after the last one to set
+     */
+    public void set(int from, int to) {
+        apply(from, to, true);
+    }
+
+    /**
+     * Clears the slots in {@code [from, to)}.
+     *
+     * @param from first slot to clear
+     * @param to   slot after the last one to clear
+     */
+    public void clear(int from, int to) {
+        apply(from, to, false);
+    }
+
+    /**
+     * Finds the first set slot at or after the given one.
+     *
+     * @param from slot to start looking from
+     * @return the first set slot, {@code -1} if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from >= SLOTS_PER_DAY) {
+            return -1;
+        }
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return index * 64 + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Finds the first clear slot at or after the given one.
+     *
+     * @param from slot to start looking from
+     * @return the first clear slot, {@link #SLOTS_PER_DAY} if all remaining slots are set
+     */
+    public int nextClearBit(int from) {
+        int index = from >>> 6;
+        if (index >= WORDS) {
+            return SLOTS_PER_DAY;
+        }
+        long word = ~words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return SLOTS_PER_DAY;
+            }
+            word = ~words[index];
+        }
+        return Math.min(index * 64 + Long.numberOfTrailingZeros(word), SLOTS_PER_DAY);
+    }
+
+    /**
+     * Finds the slots starting a run of at least {@code length} set slots.
+     * Run lengths are doubled with shift and AND steps, so the cost grows with the logarithm of the length.
+     *
+     * @param length the number of consecutive set slots required, at least 1
+     * @return a new bitmap with the slots that start such a run
+     */
+    public SlotBitmap runStarts(int length) {
+        long[] run = words.clone();
+        // Every set bit of run starts a run of at least `covered` set slots
+        int covered = 1;
+        while (covered < length) {
+            int step = Math.min(covered, length - covered);
+            long[] shifted = shiftDown(run, step);
+            for (int i = 0; i < WORDS; i++) {
+                run[i] &= shifted[i];
+            }
+            covered += step;
+        }
+        return new SlotBitmap(run);
+    }
+
+    private void apply(int from, int to, boolean value) {
+        from = Math.max(from, 0);
+        to = Math.min(to, SLOTS_PER_DAY);
+        for (int index = from >>> 6; from < to; index++) {
+            int end = Math.min(to, (index + 1) * 64);
+            // Bits from..end-1 of the current word
+            long mask = (-1L << from) & (-1L >>> (64 - (end - index * 64)));
+            words[index] = value ? words[index] | mask : words[index] & ~mask;
+            from = end;
+        }
+    }
+
+    private static long[] shiftDown(long[] source, int bits) {
+        long[] shifted = new long[WORDS];
+        int wordShift = bits >>> 6;
+        int bitShift = bits & 63;
+        for (int i = 0; i + wordShift < WORDS; i++) {
+            long low = source[i + wordShift] >>> bitShift;
+            long high = bitShift == 0 || i + wordShift + 1 >= WORDS ? 0 : source[i + wordShift + 1] << (64 - bitShift);
+            shifted[i] = low | high;
+        }
+        return shifted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SlotBitmap other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mantas.appointments.service.utils;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by an unbounded set of keys.
+ * Every key maps to one of the locks by its hash, so work on the same key is serialized while work on
+ * different keys mostly runs in parallel, without keeping a lock per key alive.
+ */
+public final class StripedLocks {
+
+    private final Lock[] locks;
+
+    /**
+     * Creates the locks.
+     *
+     * @param stripes the minimum number of locks, rounded up to a power of two
+     */
+    public StripedLocks(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive");
+        }
+        int size = Integer.highestOneBit((stripes - 1) << 1 | 1);
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Finds the lock guarding the given key.
+     *
+     * @param key the key to lock
+     * @return the same lock for equal keys
+     */
+    public Lock get(Object key) {
+        int hash = key.hashCode();
+        // Only the low bits pick the lock, folding in the high half makes keys differing only above them spread too
+        hash ^= hash >>> 16;
+        return locks[hash & (locks.length - 1)];
+    }
+
+    /**
+     * Tells how many locks the keys are spread over.
+     *
+     * @return the number of locks
+     */
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,77 @@
+-- Schema objects Hibernate cannot derive from the entities.
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization), so it must be idempotent.
+
+-- Service IDs come from a pooled sequence (allocation size 50) so inserts can be batched. Databases created while IDs
+-- were assigned by an identity column get the sequence moved past the existing IDs; it is never moved backwards.
+CREATE SEQUENCE IF NOT EXISTS offered_service_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('offered_service_seq',
+              GREATEST((SELECT coalesce(max(id), 0) FROM offered_service),
+                       (SELECT last_value FROM offered_service_seq)));
+
+-- Full-text search over service name and description, maintained by Postgres on every insert and update
+ALTER TABLE offered_service
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_offered_service_search_vector ON offered_service USING gin (search_vector);
+
+-- Booked appointments of a provider never overlap, even when booked concurrently or through another instance
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'appointment_no_overlap') THEN
+        ALTER TABLE appointment
+            ADD CONSTRAINT appointment_no_overlap
+                EXCLUDE USING gist (provider_id WITH =, tstzrange(start_time, end_time) WITH &&)
+                WHERE (status = 'BOOKED');
+    END IF;
+END
+$$;
+
+-- Appointments created before optimistic locking was introduced start at the first version
+UPDATE appointment SET version = 0 WHERE version IS NULL;
+
+-- Announces every written service to all instances, which evict it from their caches and update their name index.
+-- The payload is the ID, name and category of the service as JSON (see ServiceSuggestion), only the ID for deletions.
+-- Names are at most 255 characters, so the payload stays well below the 8000 byte limit of notifications.
+-- Notifications are only delivered once the writing transaction commits.
+CREATE OR REPLACE FUNCTION notify_offered_service_changed() RETURNS trigger AS $$
+DECLARE
+    payload json;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        payload := json_build_object('id', OLD.id);
+    ELSE
+        payload := json_build_object('id', NEW.id, 'name', NEW.name, 'category', NEW.category);
+    END IF;
+    PERFORM pg_notify('offered_service_changed', payload::text);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER offered_service_changed
+    AFTER INSERT OR UPDATE OR DELETE ON offered_service
+    FOR EACH ROW EXECUTE FUNCTION notify_offered_service_changed();
+
+-- Records every written service in the outbox in the writing transaction, to be relayed to downstream systems.
+-- Only the ID and the kind of change are recorded, the relay maps the current row like the API does.
+CREATE OR REPLACE FUNCTION record_offered_service_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO offered_service_outbox (service_id, type, created) VALUES (OLD.id, 'DELETED', localtimestamp);
+    ELSE
+        INSERT INTO offered_service_outbox (service_id, type, created)
+        VALUES (NEW.id, CASE TG_OP WHEN 'INSERT' THEN 'CREATED' ELSE 'UPDATED' END, localtimestamp);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER offered_service_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON offered_service
+    FOR EACH ROW EXECUTE FUNCTION record_offered_service_change();
@@ -0,0 +1,113 @@
+package com.mantas.appointments.config;
+
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.service.OfferedServices;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static com.mantas.appointments.utils.TestSecurityUtils.jwtWithRole;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @BeforeEach
+    void setUp() {
+        servicesRepository.deleteAll();
+        initializeDefaultTestUserAuthentication();
+    }
+
+    @Test
+    void givenServiceCreated_whenReadMetrics_thenServiceOperationIsTimedWithHistogram() {
+        servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+
+        Timer timer = meterRegistry.find("services.operations").tag("method", "createService").timer();
+
+        assertNotNull(timer);
+        assertTrue(timer.count() > 0);
+        assertTrue(timer.takeSnapshot().histogramCounts().length > 0);
+    }
+
+    @Test
+    void givenServiceCreated_whenReadMetrics_thenRepositoryCallIsTimed() {
+        servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", OfferedServicesRepository.class.getSimpleName())
+                .tag("method", "save")
+                .timer();
+
+        assertNotNull(timer);
+        assertTrue(timer.count() > 0);
+    }
+
+    @Test
+    void givenJwtCacheEnabled_whenReadMetrics_thenPublishesItsHitRate() {
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "jwt.authentications").tag("result", "hit").functionCounter());
+    }
+
+    @Test
+    void givenRequestServed_whenScrapePrometheus_thenExposesLatencyHistograms() throws Exception {
+        mockMvc.perform(get("/api/v1/services").with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/services\"")))
+                .andExpect(content().string(containsString("services_operations_seconds_bucket{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    @Test
+    void givenRequestServed_whenReadMetrics_thenPublishesAdmissionLimitOfEndpoint() throws Exception {
+        mockMvc.perform(get("/api/v1/services").with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk());
+
+        Search endpoint = meterRegistry.find("services.admission.limit").tag("endpoint", "GET /api/v1/services");
+
+        assertNotNull(endpoint.gauge());
+        assertTrue(endpoint.gauge().value() > 0);
+        assertNotNull(meterRegistry.find("services.admission.rejected").tag("endpoint", "GET /api/v1/services").functionCounter());
+    }
+
+    @Test
+    void givenExportServed_whenReadMetrics_thenExportHasNoAdmissionLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/services/export").with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk());
+
+        assertNull(meterRegistry.find("services.admission.limit").tag("endpoint", "GET /api/v1/services/export").gauge());
+    }
+}
@@ -0,0 +1,158 @@
+package com.mantas.appointments.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeTestUserAuthentication;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMillis(300);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private volatile Callable<Duration> lagProbe = () -> Duration.ZERO;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, () -> lagProbe.call(), MAX_LAG,
+                READ_YOUR_WRITES_WINDOW, 100);
+        routingDataSource.measureLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenReadOnlyTransaction_whenGetConnection_thenUsesReplica() throws SQLException {
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenReadWriteTransactionOrNone_whenGetConnection_thenUsesPrimary() throws SQLException {
+        assertSame(primaryConnection, connectionInTransaction(false));
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void givenLagAboveTolerance_whenGetConnectionInReadOnlyTransaction_thenUsesPrimary() throws SQLException {
+        lagProbe = () -> MAX_LAG.plusSeconds(1);
+        routingDataSource.measureLag();
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenLagCannotBeMeasured_whenGetConnectionInReadOnlyTransaction_thenUsesPrimary() throws SQLException {
+        lagProbe = () -> {
+            throw new SQLException("Connection refused");
+        };
+        routingDataSource.measureLag();
+
+        assertNull(routingDataSource.getLag());
+        assertSame(primaryConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenLagNotMeasuredYet_whenGetConnectionInReadOnlyTransaction_thenUsesPrimary() throws SQLException {
+        ReplicaRoutingDataSource unmeasured = new ReplicaRoutingDataSource(primary, replica, lagProbe, MAX_LAG,
+                READ_YOUR_WRITES_WINDOW, 100);
+        beginTransaction(true);
+
+        assertSame(primaryConnection, unmeasured.getConnection());
+    }
+
+    @Test
+    void givenUsersCommittedWrite_whenGetConnectionInReadOnlyTransaction_thenUsesPrimaryForWriterWithinWindow() throws Exception {
+        initializeTestUserAuthentication("writer");
+        commitWrite();
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+
+        initializeTestUserAuthentication("other-user");
+        assertSame(replicaConnection, connectionInTransaction(true));
+
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.multipliedBy(2));
+        initializeTestUserAuthentication("writer");
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenUsersRolledBackWrite_whenGetConnectionInReadOnlyTransaction_thenUsesReplica() throws SQLException {
+        initializeTestUserAuthentication("writer");
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        routingDataSource.rememberWriterOnCommit();
+        TransactionSynchronizationManager.clear();
+
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenUsersReadWriteTransactionWithoutWrite_whenGetConnectionInReadOnlyTransaction_thenUsesReplica() throws SQLException {
+        initializeTestUserAuthentication("writer");
+        assertSame(primaryConnection, connectionInTransaction(false));
+
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void givenUsersWriteOutsideTransaction_whenGetConnectionInReadOnlyTransaction_thenUsesPrimary() throws SQLException {
+        initializeTestUserAuthentication("writer");
+        routingDataSource.rememberWriterOnCommit();
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+    }
+
+    private void commitWrite() throws SQLException {
+        beginTransaction(false);
+        try {
+            routingDataSource.getConnection();
+            routingDataSource.rememberWriterOnCommit();
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private Connection connectionInTransaction(boolean readOnly) throws SQLException {
+        beginTransaction(readOnly);
+        try {
+            Connection connection = routingDataSource.getConnection();
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            return connection;
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,174 @@
+package com.mantas.appointments.config;
+
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.service.OfferedServices;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.mantas.appointments.config.CachingConfig.SERVICES_CACHE;
+import static com.mantas.appointments.utils.OfferedServiceTestFactory.DEFAULT_OWNER_ID;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeTestUserAuthentication;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes between the primary database and a second database on the same server standing in for the replica.
+ * The stand-in is no streaming replica, so it reports no lag and its rows are written by the test.
+ */
+@Testcontainers
+public class ReplicaRoutingTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "replica";
+    private static final String REPLICA_NAME = "served by replica";
+    private static final String REPLICA_URL = createReplicaDatabase();
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.enabled", () -> true);
+        registry.add("app.datasource.replica.url", () -> REPLICA_URL);
+        registry.add("app.datasource.replica.lag-check-interval", () -> "100ms");
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // The replica pool is read-only, so the stand-in is written through connections of their own
+        writeReplica(REPLICA_URL, "TRUNCATE offered_service");
+        servicesRepository.deleteAll();
+        evictCaches();
+        assertTrue(awaitLagMeasured());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenReadOnlyTransaction_whenQuery_thenServedByReplica() {
+        assertEquals(REPLICA_DATABASE, currentDatabase(true));
+        assertNotEquals(REPLICA_DATABASE, currentDatabase(false));
+    }
+
+    @Test
+    void givenServiceOnReplica_whenGetServiceById_thenReadsFromReplica() {
+        OfferedService service = saveOnBothDatabases();
+        initializeTestUserAuthentication("reader");
+
+        assertEquals(REPLICA_NAME, servicesService.getServiceById(service.getId()).name());
+    }
+
+    @Test
+    void givenOwnWrite_whenGetServiceById_thenReadsOwnWriteFromPrimary() {
+        OfferedService service = saveOnBothDatabases();
+        initializeDefaultTestUserAuthentication();
+
+        servicesService.patchService(service.getId(), OfferedServicePatchRequest.builder().name("patched").build());
+        evictCaches();
+
+        assertEquals("patched", servicesService.getServiceById(service.getId()).name());
+
+        evictCaches();
+        initializeTestUserAuthentication("reader");
+        assertEquals(REPLICA_NAME, servicesService.getServiceById(service.getId()).name());
+    }
+
+    private OfferedService saveOnBothDatabases() {
+        OfferedService service = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        LocalDateTime now = LocalDateTime.now();
+        writeReplica(REPLICA_URL, String.format("""
+                        INSERT INTO offered_service (id, name, price, owner_id, category, created, updated)
+                        VALUES (%d, '%s', 10, '%s', '%s', '%s', '%s')""",
+                service.getId(), REPLICA_NAME, DEFAULT_OWNER_ID, service.getCategory(), now, now));
+        evictCaches();
+        return service;
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+        Objects.requireNonNull(cacheManager.getCache(SERVICES_CACHE)).clear();
+    }
+
+    private boolean awaitLagMeasured() throws InterruptedException {
+        for (int i = 0; i < 50 && routingDataSource.getLag() == null; i++) {
+            Thread.sleep(100);
+        }
+        return routingDataSource.getLag() != null;
+    }
+
+    private static void writeReplica(String url, String sql) {
+        try (Connection connection = DriverManager.getConnection(url, postgreSQLContainer.getUsername(),
+                postgreSQLContainer.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates the stand-in for the replica with the services table, as the application reads it on startup.
+     */
+    private static String createReplicaDatabase() {
+        String primaryUrl = postgreSQLContainer.getJdbcUrl();
+        String replicaUrl = primaryUrl.replace("/" + postgreSQLContainer.getDatabaseName(), "/" + REPLICA_DATABASE);
+        writeReplica(primaryUrl, "DROP DATABASE IF EXISTS " + REPLICA_DATABASE);
+        writeReplica(primaryUrl, "CREATE DATABASE " + REPLICA_DATABASE);
+        writeReplica(replicaUrl, """
+                CREATE TABLE offered_service (
+                    id bigint PRIMARY KEY, name varchar(255), description varchar(255), price numeric(38, 2),
+                    duration_minutes integer, owner_id varchar(255), category varchar(255),
+                    created timestamp(6) NOT NULL, updated timestamp(6) NOT NULL)""");
+        return replicaUrl;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mantas.appointments.config;
+
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsProfileTest extends AbstractIntegrationTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenVirtualThreadsProfile_whenSubmitAsyncTask_thenRunsOnVirtualThread() throws Exception {
+        boolean virtual = taskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        assertTrue(virtual);
+    }
+
+    @Test
+    void givenVirtualThreadsProfile_whenDataSourceCreated_thenUsesFixedPool() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(20, hikari.getMinimumIdle());
+    }
+
+    @Test
+    void givenVirtualThreadsProfile_whenVirtualThreadBlocksWhilePinned_thenCountsPinning() throws Exception {
+        Object monitor = new Object();
+        Thread pinned = Thread.ofVirtual().start(() -> {
+            // Sleeping inside synchronized pins the virtual thread to its carrier
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        pinned.join();
+
+        // JFR hands events to the stream about once a second
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(pinnedCount() > 0);
+    }
+
+    private double pinnedCount() {
+        Counter counter = meterRegistry.find("jvm.threads.virtual.pinned").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,130 @@
+package com.mantas.appointments.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final Duration LATENCY_BUDGET = Duration.ofMillis(100);
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofMillis(500);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4, 0.5, LATENCY_BUDGET);
+
+    @Test
+    void givenLimitReached_whenTryAcquire_thenRejectsAfterMaxWait() throws InterruptedException {
+        assertTrue(limit.tryAcquire(Duration.ZERO));
+        assertTrue(limit.tryAcquire(Duration.ZERO));
+
+        assertFalse(limit.tryAcquire(Duration.ofMillis(20)));
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejected());
+    }
+
+    @Test
+    void givenLimitReached_whenReleasedWhileWaiting_thenAdmits() throws Exception {
+        limit.tryAcquire(Duration.ZERO);
+        limit.tryAcquire(Duration.ZERO);
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limit.tryAcquire(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        limit.release(FAST);
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limit.getRejected());
+    }
+
+    @Test
+    void givenSlowRequests_whenRelease_thenShrinksLimitDownToMinimum() throws InterruptedException {
+        limit.tryAcquire(Duration.ZERO);
+        limit.release(SLOW);
+        assertEquals(1, limit.getLimit());
+
+        limit.tryAcquire(Duration.ZERO);
+        limit.release(SLOW);
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    void givenBurstOfSlowRequests_whenRelease_thenShrinksLimitOnce() throws InterruptedException {
+        AdaptiveConcurrencyLimit wide = new AdaptiveConcurrencyLimit(16, 1, 16, 0.5, LATENCY_BUDGET);
+        for (int i = 0; i < 16; i++) {
+            assertTrue(wide.tryAcquire(Duration.ZERO));
+        }
+
+        for (int i = 0; i < 16; i++) {
+            wide.release(SLOW);
+        }
+
+        assertEquals(8, wide.getLimit());
+    }
+
+    @Test
+    void givenSlowRequestsInSeparateWindows_whenRelease_thenShrinksLimitEachTime() throws InterruptedException {
+        AdaptiveConcurrencyLimit wide = new AdaptiveConcurrencyLimit(16, 1, 16, 0.5, LATENCY_BUDGET);
+
+        wide.tryAcquire(Duration.ZERO);
+        wide.release(SLOW);
+        Thread.sleep(LATENCY_BUDGET.toMillis() + 20);
+        wide.tryAcquire(Duration.ZERO);
+        wide.release(SLOW);
+
+        assertEquals(4, wide.getLimit());
+    }
+
+    @Test
+    void givenFastRequestsUsingLimit_whenRelease_thenGrowsByAboutOnePerLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit wide = new AdaptiveConcurrencyLimit(8, 1, 16, 0.5, LATENCY_BUDGET);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(wide.tryAcquire(Duration.ZERO));
+        }
+
+        // Every release is replaced by a new request, so the limit stays fully in use
+        for (int i = 0; i < 8; i++) {
+            wide.release(FAST);
+            assertTrue(wide.tryAcquire(Duration.ZERO));
+        }
+        assertEquals(8, wide.getLimit());
+
+        wide.release(FAST);
+        assertEquals(9, wide.getLimit());
+    }
+
+    @Test
+    void givenFastRequestsUsingLimit_whenRelease_thenGrowsLimitUpToMaximum() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            int admitted = limit.getLimit();
+            for (int j = 0; j < admitted; j++) {
+                assertTrue(limit.tryAcquire(Duration.ZERO));
+            }
+            for (int j = 0; j < admitted; j++) {
+                limit.release(FAST);
+            }
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void givenFastRequestsUsingLittleOfLimit_whenRelease_thenKeepsLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit wide = new AdaptiveConcurrencyLimit(4, 1, 10, 0.5, LATENCY_BUDGET);
+
+        wide.tryAcquire(Duration.ZERO);
+        wide.release(FAST);
+
+        assertEquals(4, wide.getLimit());
+    }
+}
@@ -0,0 +1,180 @@
+package com.mantas.appointments.controller;
+
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.dto.AvailabilityResponse;
+import com.mantas.appointments.dto.TimeRange;
+import com.mantas.appointments.dto.TimeSlot;
+import com.mantas.appointments.entity.AppointmentStatus;
+import com.mantas.appointments.exception.AppointmentConflictException;
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.exception.GlobalExceptionHandler;
+import com.mantas.appointments.security.TestSecurityConfig;
+import com.mantas.appointments.service.Appointments;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AppointmentsController.class, excludeAutoConfiguration = {DataJpaTest.class})
+@Import({GlobalExceptionHandler.class, TestSecurityConfig.class})
+public class AppointmentsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private Appointments appointmentsService;
+
+    private final static Long VALID_ID = 1L;
+    private final static Long SERVICE_ID = 2L;
+    private final static String BASE_ENDPOINT = AppointmentsController.APPOINTMENTS_API;
+    private final static String ENDPOINT_WITH_ID = BASE_ENDPOINT + "/" + VALID_ID;
+    private final static String CONTENT_TYPE = "application/json";
+    private final static Instant START = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    private final static AppointmentResponse APPOINTMENT = AppointmentResponse.builder()
+            .id(VALID_ID)
+            .serviceId(SERVICE_ID)
+            .providerId("provider")
+            .clientId("client")
+            .startTime(START)
+            .endTime(START.plus(Duration.ofHours(1)))
+            .status(AppointmentStatus.BOOKED)
+            .build();
+
+    @Test
+    void givenValidRequest_whenBookAppointment_thenReturnsOk() throws Exception {
+        AppointmentRequest request = new AppointmentRequest(SERVICE_ID, START);
+        when(appointmentsService.bookAppointment(request)).thenReturn(APPOINTMENT);
+
+        mockMvc.perform(post(BASE_ENDPOINT)
+                        .contentType(CONTENT_TYPE)
+                        .content(bookingJson(SERVICE_ID, START)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(VALID_ID))
+                .andExpect(jsonPath("$.status").value(AppointmentStatus.BOOKED.toString()));
+    }
+
+    @Test
+    void givenPastStartTime_whenBookAppointment_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post(BASE_ENDPOINT)
+                        .contentType(CONTENT_TYPE)
+                        .content(bookingJson(SERVICE_ID, START.minus(Duration.ofDays(2)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.startTime").value(ErrorMessage.START_TIME_NOT_FUTURE));
+
+        verify(appointmentsService, never()).bookAppointment(any());
+    }
+
+    @Test
+    void givenOverlappingAppointment_whenBookAppointment_thenReturnsConflict() throws Exception {
+        when(appointmentsService.bookAppointment(any())).thenThrow(new AppointmentConflictException("overlap"));
+
+        mockMvc.perform(post(BASE_ENDPOINT)
+                        .contentType(CONTENT_TYPE)
+                        .content(bookingJson(SERVICE_ID, START)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("overlap"));
+    }
+
+    @Test
+    void givenValidId_whenGetAppointmentById_thenReturnsOk() throws Exception {
+        when(appointmentsService.getAppointmentById(VALID_ID)).thenReturn(APPOINTMENT);
+
+        mockMvc.perform(get(ENDPOINT_WITH_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.serviceId").value(SERVICE_ID));
+    }
+
+    @Test
+    void givenInvalidId_whenGetAppointmentById_thenReturnsNotFound() throws Exception {
+        when(appointmentsService.getAppointmentById(VALID_ID)).thenThrow(new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
+
+        mockMvc.perform(get(ENDPOINT_WITH_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenValidId_whenCancelAppointment_thenReturnsNoContent() throws Exception {
+        mockMvc.perform(delete(ENDPOINT_WITH_ID))
+                .andExpect(status().isNoContent());
+
+        verify(appointmentsService).cancelAppointment(VALID_ID);
+    }
+
+    @Test
+    void givenDateRange_whenFindFreeSlots_thenReturnsOk() throws Exception {
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        List<TimeSlot> slots = List.of(new TimeSlot(START, START.plus(Duration.ofHours(1))));
+        when(appointmentsService.findFreeSlots(SERVICE_ID, day, day.plusDays(6))).thenReturn(slots);
+
+        mockMvc.perform(get(BASE_ENDPOINT + "/free-slots")
+                        .param("serviceId", SERVICE_ID.toString())
+                        .param("from", "2030-01-07")
+                        .param("to", "2030-01-13"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void givenRanges_whenSetAvailability_thenReturnsOk() throws Exception {
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        List<TimeRange> ranges = List.of(new TimeRange(LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        when(appointmentsService.setAvailability(day, ranges)).thenReturn(new AvailabilityResponse("provider", day, ranges));
+
+        mockMvc.perform(put(BASE_ENDPOINT + "/availability/2030-01-07")
+                        .contentType(CONTENT_TYPE)
+                        .content("""
+                                {
+                                    "ranges": [{"start": "09:00", "end": "17:00"}]
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ranges[0].start").value("09:00:00"));
+    }
+
+    @Test
+    void givenRangeWithoutEnd_whenSetAvailability_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(put(BASE_ENDPOINT + "/availability/2030-01-07")
+                        .contentType(CONTENT_TYPE)
+                        .content("""
+                                {
+                                    "ranges": [{"start": "09:00"}]
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentsService, never()).setAvailability(any(), any());
+    }
+
+    private static String bookingJson(Long serviceId, Instant startTime) {
+        return """
+                {
+                    "serviceId": %d,
+                    "startTime": "%s"
+                }
+                """.formatted(serviceId, startTime);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mantas.appointments.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.service.OfferedServices;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static com.mantas.appointments.utils.TestSecurityUtils.jwtWithRole;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@AutoConfigureMockMvc
+public class ContentNegotiationTest extends AbstractIntegrationTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    private OfferedServiceResponse service;
+
+    @BeforeEach
+    void setUp() {
+        servicesRepository.deleteAll();
+        initializeDefaultTestUserAuthentication();
+        service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenAcceptCbor_whenGetServiceById_thenReturnsSameServiceAsJson() throws Exception {
+        String path = ServicesController.SERVICES_API + "/" + service.id();
+        TypeReference<OfferedServiceResponse> type = new TypeReference<>() {
+        };
+
+        assertEquals(fetch(path, MediaType.APPLICATION_JSON, new JsonFactory(), type),
+                fetch(path, MediaType.APPLICATION_CBOR, new CBORFactory(), type));
+    }
+
+    @Test
+    void givenAcceptSmile_whenGetServices_thenReturnsSamePageAsJson() throws Exception {
+        TypeReference<PageResponse<OfferedServiceResponse>> type = new TypeReference<>() {
+        };
+
+        PageResponse<OfferedServiceResponse> page = fetch(ServicesController.SERVICES_API, APPLICATION_SMILE, new SmileFactory(), type);
+
+        assertEquals(fetch(ServicesController.SERVICES_API, MediaType.APPLICATION_JSON, new JsonFactory(), type), page);
+        assertEquals(List.of(service.id()), page.content().stream().map(OfferedServiceResponse::id).toList());
+    }
+
+    @Test
+    void givenETagOfJsonResponse_whenGetServiceByIdAsCbor_thenReturnsNotModifiedForEquivalentRepresentation() throws Exception {
+        String path = ServicesController.SERVICES_API + "/" + service.id();
+        String eTag = mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON).with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue(eTag.startsWith("W/"));
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, eTag).with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    private <T> T fetch(String path, MediaType mediaType, JsonFactory format, TypeReference<T> type) throws Exception {
+        byte[] body = mockMvc.perform(get(path).accept(mediaType).with(jwtWithRole("PROVIDER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+        return Jackson2ObjectMapperBuilder.json().factory(format).build().readValue(body, type);
+    }
+}
@@ -1,10 +1,22 @@
 package com.mantas.appointments.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.mantas.appointments.dto.OfferedServiceBulkUpdateRequest;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
 import com.mantas.appointments.dto.OfferedServiceRequest;
 import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.dto.VersionStamp;
+import com.mantas.appointments.exception.BulkValidationException;
 import com.mantas.appointments.exception.ErrorMessage;
 import com.mantas.appointments.exception.GlobalExceptionHandler;
+import com.mantas.appointments.exception.InvalidRequestException;
+import com.mantas.appointments.exception.ServiceOverloadedException;
+import com.mantas.appointments.entity.Category;
 import com.mantas.appointments.security.TestSecurityConfig;
 import com.mantas.appointments.service.OfferedServices;
 import com.mantas.appointments.utils.OfferedServiceTestFactory;
@@ -15,21 +27,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.mantas.appointments.utils.TestUtils.assertJsonResultMatchesDefaultOfferedServiceResponse;
 import static com.mantas.appointments.utils.TestUtils.assertJsonResultMatchesNoDescOfferedServiceResponse;
 import static com.mantas.appointments.utils.TestUtils.assertJsonResultMatchesUpdatedOfferedServiceResponse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +76,8 @@ public class ServicesControllerTest {
     private final static String BASE_ENDPOINT = ServicesController.SERVICES_API;
     private final static String ENDPOINT_WITH_ID = BASE_ENDPOINT + "/" + VALID_ID;
     private final static String CONTENT_TYPE = "application/json";
+    private final static String NEXT_CURSOR = "MQ";
+    private final static VersionStamp VERSION = VersionStamp.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
     private final static String INVALID_CATEGORY_REQUEST = """
             {
                 "name": "testService",
@@ -62,11 +93,138 @@ public class ServicesControllerTest {
                 OfferedServiceTestFactory.buildDefaultOfferedServiceResponse(),
                 OfferedServiceTestFactory.buildFullUpdateOfferedServiceResponse()
         );
-        when(offeredServicesService.getAllServices()).thenReturn(services);
+        when(offeredServicesService.getAllServices(null, null)).thenReturn(new PageResponse<>(services, NEXT_CURSOR));
 
         mockMvc.perform(get(BASE_ENDPOINT))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(NEXT_CURSOR));
+    }
+
+    @Test
+    void givenCursorAndSize_whenGetAllServices_thenPassesThemToService() throws Exception {
+        List<OfferedServiceResponse> services = List.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+        when(offeredServicesService.getAllServices(NEXT_CURSOR, 1)).thenReturn(new PageResponse<>(services, null));
+
+        mockMvc.perform(get(BASE_ENDPOINT)
+                        .param("cursor", NEXT_CURSOR)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void givenCurrentETag_whenGetAllServices_thenReturnsNotModified() throws Exception {
+        PageResponse<OfferedServiceResponse> page =
+                new PageResponse<>(List.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse()), NEXT_CURSOR);
+        when(offeredServicesService.getAllServices(null, null)).thenReturn(page);
+
+        mockMvc.perform(get(BASE_ENDPOINT)
+                        .header(HttpHeaders.IF_NONE_MATCH, VersionStamp.of(page).eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenETagOfPreviousPageState_whenGetAllServices_thenReturnsOk() throws Exception {
+        PageResponse<OfferedServiceResponse> lastPage =
+                new PageResponse<>(List.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse()), null);
+        when(offeredServicesService.getAllServices(null, null))
+                .thenReturn(new PageResponse<>(lastPage.content(), NEXT_CURSOR));
+
+        mockMvc.perform(get(BASE_ENDPOINT)
+                        .header(HttpHeaders.IF_NONE_MATCH, VersionStamp.of(lastPage).eTag()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(NEXT_CURSOR));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetAllServices_thenReturnsBadRequest() throws Exception {
+        when(offeredServicesService.getAllServices("invalid", null))
+                .thenThrow(new InvalidRequestException(ErrorMessage.INVALID_CURSOR));
+
+        mockMvc.perform(get(BASE_ENDPOINT)
+                        .param("cursor", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ErrorMessage.INVALID_CURSOR));
+    }
+
+    @Test
+    void givenFilterParameters_whenFilterServices_thenPassesThemToService() throws Exception {
+        ServiceFilter filter = new ServiceFilter(Category.NAILS, BigDecimal.valueOf(10), BigDecimal.valueOf(50), "owner");
+        List<OfferedServiceResponse> services = List.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+        when(offeredServicesService.filterServices(filter, ServiceSort.PRICE, Sort.Direction.DESC, NEXT_CURSOR, 5))
+                .thenReturn(new PageResponse<>(services, null));
+
+        mockMvc.perform(get(BASE_ENDPOINT + "/filter")
+                        .param("category", "NAILS")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "50")
+                        .param("ownerId", "owner")
+                        .param("sortBy", "PRICE")
+                        .param("direction", "DESC")
+                        .param("cursor", NEXT_CURSOR)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void givenNoParameters_whenFilterServices_thenUsesDefaultSort() throws Exception {
+        ServiceFilter filter = new ServiceFilter(null, null, null, null);
+        when(offeredServicesService.filterServices(filter, ServiceSort.ID, Sort.Direction.ASC, null, null))
+                .thenReturn(new PageResponse<>(List.of(), null));
+
+        mockMvc.perform(get(BASE_ENDPOINT + "/filter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    void givenQuery_whenSearchServices_thenReturnsOk() throws Exception {
+        List<OfferedServiceResponse> services = List.of(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+        when(offeredServicesService.searchServices("deep tissue", 1, 10)).thenReturn(services);
+
+        mockMvc.perform(get(BASE_ENDPOINT + "/search")
+                        .param("q", "deep tissue")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void givenPrefix_whenSuggestServices_thenReturnsOk() throws Exception {
+        List<ServiceSuggestion> suggestions = List.of(new ServiceSuggestion(VALID_ID, "Haircut", Category.HAIRCARE));
+        when(offeredServicesService.suggestServices("hai", Category.HAIRCARE, 5)).thenReturn(suggestions);
+
+        mockMvc.perform(get(BASE_ENDPOINT + "/suggest")
+                        .param("prefix", "hai")
+                        .param("category", "HAIRCARE")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Haircut"));
+    }
+
+    @Test
+    void givenServices_whenExportServices_thenStreamsNewlineDelimitedJson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OfferedServiceResponse> consumer = invocation.getArgument(0);
+            consumer.accept(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+            consumer.accept(OfferedServiceTestFactory.buildFullUpdateOfferedServiceResponse());
+            return null;
+        }).when(offeredServicesService).exportServices(any());
+
+        String content = mockMvc.perform(get(BASE_ENDPOINT + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = content.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(OfferedServiceTestFactory.DEFAULT_NAME, JsonPath.read(lines[0], "$.name"));
+        assertEquals(OfferedServiceTestFactory.UPDATED_NAME, JsonPath.read(lines[1], "$.name"));
     }
 
     @Test
@@ -75,10 +233,32 @@ public class ServicesControllerTest {
         when(offeredServicesService.getServiceById(VALID_ID)).thenReturn(service);
 
         ResultActions result = mockMvc.perform(get(ENDPOINT_WITH_ID))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.eTag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
         assertJsonResultMatchesDefaultOfferedServiceResponse(result);
     }
 
+    @Test
+    void givenCurrentETag_whenGetServiceById_thenReturnsNotModified() throws Exception {
+        when(offeredServicesService.getServiceById(VALID_ID)).thenReturn(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+
+        mockMvc.perform(get(ENDPOINT_WITH_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, VERSION.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenStaleETag_whenGetServiceById_thenReturnsOk() throws Exception {
+        when(offeredServicesService.getServiceById(VALID_ID)).thenReturn(OfferedServiceTestFactory.buildDefaultOfferedServiceResponse());
+
+        mockMvc.perform(get(ENDPOINT_WITH_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.eTag()));
+    }
+
     @Test
     void givenInvalidId_WhenGetServiceById_thenReturnsNotFound() throws Exception {
         when(offeredServicesService.getServiceById(VALID_ID)).thenThrow(new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
@@ -88,6 +268,16 @@ public class ServicesControllerTest {
                 .andExpect(jsonPath("$.message").value(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
     }
 
+    @Test
+    void givenOverloaded_whenGetServiceById_thenReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        when(offeredServicesService.getServiceById(VALID_ID)).thenThrow(new ServiceOverloadedException(Duration.ofMillis(1500)));
+
+        mockMvc.perform(get(ENDPOINT_WITH_ID))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.SERVICE_OVERLOADED));
+    }
+
     @Test
     void givenValidRequest_whenCreateService_thenReturnsCreated() throws Exception {
         OfferedServiceRequest request = OfferedServiceTestFactory.buildDefaultOfferedServiceRequest();
@@ -173,6 +363,54 @@ public class ServicesControllerTest {
                 .andExpect(jsonPath("$.message").value(Matchers.containsString(ErrorMessage.INVALID_CATEGORY)));
     }
 
+    @Test
+    void givenValidBulkRequest_whenCreateServices_thenReturnsOk() throws Exception {
+        List<OfferedServiceRequest> requests = List.of(
+                OfferedServiceTestFactory.buildDefaultOfferedServiceRequest(),
+                OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest()
+        );
+        List<OfferedServiceResponse> responses = List.of(
+                OfferedServiceTestFactory.buildDefaultOfferedServiceResponse(),
+                OfferedServiceTestFactory.buildFullUpdateOfferedServiceResponse()
+        );
+        when(offeredServicesService.createServices(requests)).thenReturn(responses);
+
+        mockMvc.perform(post(BASE_ENDPOINT + "/bulk")
+                        .contentType(CONTENT_TYPE)
+                        .content(new ObjectMapper().writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value(OfferedServiceTestFactory.UPDATED_NAME));
+    }
+
+    @Test
+    void givenInvalidItem_whenCreateServices_thenReturnsBadRequestWithItemErrors() throws Exception {
+        List<OfferedServiceRequest> requests = List.of(OfferedServiceTestFactory.buildNoNameOfferedServiceRequest());
+        when(offeredServicesService.createServices(requests))
+                .thenThrow(new BulkValidationException(Map.of("[0].name", ErrorMessage.NAME_BLANK)));
+
+        mockMvc.perform(post(BASE_ENDPOINT + "/bulk")
+                        .contentType(CONTENT_TYPE)
+                        .content(new ObjectMapper().writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors['[0].name']").value(ErrorMessage.NAME_BLANK));
+    }
+
+    @Test
+    void givenValidBulkRequest_whenUpdateServices_thenReturnsOk() throws Exception {
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(VALID_ID, OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest()));
+        when(offeredServicesService.updateServices(requests))
+                .thenReturn(List.of(OfferedServiceTestFactory.buildFullUpdateOfferedServiceResponse()));
+
+        mockMvc.perform(put(BASE_ENDPOINT + "/bulk")
+                        .contentType(CONTENT_TYPE)
+                        .content(new ObjectMapper().writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value(OfferedServiceTestFactory.UPDATED_NAME));
+    }
+
     @Test
     void givenValidRequest_whenUpdateService_thenReturnsOk() throws Exception {
         OfferedServiceRequest request = OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest();
@@ -271,6 +509,49 @@ public class ServicesControllerTest {
                 .andExpect(jsonPath("$.message").value(Matchers.containsString(ErrorMessage.INVALID_CATEGORY)));
     }
 
+    @Test
+    void givenPriceOnly_whenPatchService_thenReturnsOk() throws Exception {
+        OfferedServicePatchRequest request = OfferedServicePatchRequest.builder().price(new BigDecimal("25.50")).build();
+        OfferedServiceResponse response = OfferedServiceTestFactory.buildFullUpdateOfferedServiceResponse();
+        when(offeredServicesService.patchService(VALID_ID, request)).thenReturn(response);
+
+        ResultActions result = mockMvc.perform(patch(ENDPOINT_WITH_ID)
+                        .contentType(CONTENT_TYPE)
+                        .content("{\"price\": 25.50}"))
+                .andExpect(status().isOk());
+        assertJsonResultMatchesUpdatedOfferedServiceResponse(result);
+    }
+
+    @Test
+    void givenInvalidId_whenPatchService_thenReturnsNotFound() throws Exception {
+        when(offeredServicesService.patchService(any(), any())).thenThrow(new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
+
+        mockMvc.perform(patch(ENDPOINT_WITH_ID)
+                        .contentType(CONTENT_TYPE)
+                        .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
+    }
+
+    @Test
+    void givenBlankName_whenPatchService_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch(ENDPOINT_WITH_ID)
+                        .contentType(CONTENT_TYPE)
+                        .content("{\"name\": \"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.name").value(ErrorMessage.NAME_BLANK));
+        verify(offeredServicesService, never()).patchService(any(), any());
+    }
+
+    @Test
+    void givenPriceNegative_whenPatchService_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch(ENDPOINT_WITH_ID)
+                        .contentType(CONTENT_TYPE)
+                        .content("{\"price\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.price").value(ErrorMessage.PRICE_NEGATIVE));
+    }
+
     @Test
     void givenValidId_whenDeleteService_thenReturnsNoContent() throws Exception {
         doNothing().when(offeredServicesService).deleteService(VALID_ID);
@@ -280,10 +561,33 @@ public class ServicesControllerTest {
     }
 
     @Test
-    void givenInvalidId_whenDeleteService_thenReturnNoContent() throws Exception {
-        doNothing().when(offeredServicesService).deleteService(VALID_ID);
+    void givenInvalidId_whenDeleteService_thenReturnsNotFound() throws Exception {
+        doThrow(new EntityNotFoundException(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID)).when(offeredServicesService).deleteService(VALID_ID);
 
         mockMvc.perform(delete(ENDPOINT_WITH_ID))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(ErrorMessage.ENTITY_NOT_FOUND + VALID_ID));
+    }
+
+    @Test
+    void givenOtherUsersService_whenDeleteService_thenReturnsForbidden() throws Exception {
+        doThrow(new AccessDeniedException(ErrorMessage.SERVICE_NOT_OWNER)).when(offeredServicesService).deleteService(VALID_ID);
+
+        mockMvc.perform(delete(ENDPOINT_WITH_ID))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status").value(403))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.SERVICE_NOT_OWNER));
+    }
+
+    @Test
+    void givenOtherUsersService_whenPatchService_thenReturnsForbidden() throws Exception {
+        when(offeredServicesService.patchService(any(), any())).thenThrow(new AccessDeniedException(ErrorMessage.SERVICE_NOT_OWNER));
+
+        mockMvc.perform(patch(ENDPOINT_WITH_ID)
+                        .contentType(CONTENT_TYPE)
+                        .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status").value(403))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.SERVICE_NOT_OWNER));
     }
 }
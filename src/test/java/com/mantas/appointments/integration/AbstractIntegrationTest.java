@@ -28,5 +28,7 @@ public class AbstractIntegrationTest {
         registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
         registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
         registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        // Contexts share the database, so tests relay the outbox themselves instead of in the background
+        registry.add("app.services.outbox.enabled", () -> false);
     }
 }
\ No newline at end of file
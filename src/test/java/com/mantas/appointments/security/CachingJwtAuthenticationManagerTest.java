@@ -0,0 +1,127 @@
+package com.mantas.appointments.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingJwtAuthenticationManagerTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+    private static final String TOKEN = "header.payload.signature";
+    private static final String OTHER_TOKEN = "other-header.other-payload.other-signature";
+
+    private AuthenticationManager delegate;
+    private Clock clock;
+    private CachingJwtAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationManager.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        manager = new CachingJwtAuthenticationManager(delegate, 100, clock);
+    }
+
+    @Test
+    void givenSameTokenTwice_whenAuthenticate_thenVerifiesItOnce() {
+        when(delegate.authenticate(any())).thenReturn(authenticated(TOKEN, NOW.plus(Duration.ofMinutes(5))));
+
+        Authentication first = manager.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        Authentication second = manager.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals(1, manager.getCache().stats().hitCount());
+    }
+
+    @Test
+    void givenDifferentTokens_whenAuthenticate_thenVerifiesEach() {
+        when(delegate.authenticate(any()))
+                .thenReturn(authenticated(TOKEN, NOW.plus(Duration.ofMinutes(5))))
+                .thenReturn(authenticated(OTHER_TOKEN, NOW.plus(Duration.ofMinutes(5))));
+
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        manager.authenticate(new BearerTokenAuthenticationToken(OTHER_TOKEN));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void givenCachedTokenExpired_whenAuthenticate_thenVerifiesItAgain() {
+        when(delegate.authenticate(any()))
+                .thenReturn(authenticated(TOKEN, NOW.plus(Duration.ofMinutes(5))))
+                .thenThrow(new InvalidBearerTokenException("Jwt expired"));
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void givenInvalidToken_whenAuthenticate_thenFailureIsNotCached() {
+        when(delegate.authenticate(any())).thenThrow(new InvalidBearerTokenException("Invalid signature"));
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)));
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void givenCachedToken_whenAuthenticate_thenUsesDetailsOfCurrentRequest() {
+        when(delegate.authenticate(any())).thenReturn(authenticated(TOKEN, NOW.plus(Duration.ofMinutes(5))));
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        BearerTokenAuthenticationToken request = new BearerTokenAuthenticationToken(TOKEN);
+        request.setDetails("second request");
+
+        Authentication result = manager.authenticate(request);
+
+        assertSame("second request", result.getDetails());
+    }
+
+    @Test
+    void givenOtherAuthentication_whenAuthenticate_thenDelegatesWithoutCaching() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", "password");
+        when(delegate.authenticate(authentication)).thenReturn(authentication);
+
+        manager.authenticate(authentication);
+        manager.authenticate(authentication);
+
+        verify(delegate, times(2)).authenticate(authentication);
+        assertEquals(0, manager.getCache().estimatedSize());
+    }
+
+    private static JwtAuthenticationToken authenticated(String token, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user-id")
+                .issuedAt(NOW.minus(Duration.ofMinutes(1)))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_PROVIDER")));
+    }
+}
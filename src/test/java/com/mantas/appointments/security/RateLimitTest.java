@@ -0,0 +1,103 @@
+package com.mantas.appointments.security;
+
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@AutoConfigureMockMvc
+public class RateLimitTest extends AbstractIntegrationTest {
+
+    private static final String SERVICES_API = "/api/v1/services";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void configureRateLimits(DynamicPropertyRegistry registry) {
+        registry.add("app.security.rate-limit.provider.capacity", () -> 5);
+        registry.add("app.security.rate-limit.provider.refill-per-second", () -> 1);
+        registry.add("app.security.rate-limit.provider.routes[GET /api/v1/services].capacity", () -> 2);
+        registry.add("app.security.rate-limit.provider.routes[GET /api/v1/services].refill-per-second", () -> 1);
+        registry.add("app.security.rate-limit.provider.routes[GET /api/v1/services/search].capacity", () -> 3);
+        registry.add("app.security.rate-limit.provider.routes[GET /api/v1/services/search].refill-per-second", () -> 1);
+    }
+
+    @Test
+    void givenRequestsOverRouteLimit_whenGetServices_thenTooManyRequestsWithRetryAfter() throws Exception {
+        RequestPostProcessor provider = provider("over-route-limit");
+
+        mockMvc.perform(get(SERVICES_API).with(provider))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RateLimitInterceptor.LIMIT_HEADER, "2"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "1"));
+        mockMvc.perform(get(SERVICES_API).with(provider))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "0"))
+                .andExpect(header().string(RateLimitInterceptor.RESET_HEADER, "2"));
+
+        mockMvc.perform(get(SERVICES_API).with(provider))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "0"))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.RATE_LIMIT_EXCEEDED));
+    }
+
+    @Test
+    void givenOtherUserOverLimit_whenGetServices_thenOk() throws Exception {
+        RequestPostProcessor provider = provider("noisy-neighbour");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(SERVICES_API).with(provider));
+        }
+
+        mockMvc.perform(get(SERVICES_API).with(provider("quiet-neighbour")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenRouteLimitReached_whenGetOtherRoute_thenUsesRoleLimit() throws Exception {
+        RequestPostProcessor provider = provider("other-route");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(SERVICES_API).with(provider));
+        }
+
+        mockMvc.perform(get(SERVICES_API + "/suggest").param("prefix", "a").with(provider))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RateLimitInterceptor.LIMIT_HEADER, "5"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "4"));
+    }
+
+    @Test
+    void givenHeadRequestFirst_whenGetSameRoute_thenSharesGetRouteLimit() throws Exception {
+        RequestPostProcessor provider = provider("head-first");
+
+        mockMvc.perform(head(SERVICES_API + "/search").param("q", "massage").with(provider))
+                .andExpect(header().string(RateLimitInterceptor.LIMIT_HEADER, "3"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "2"));
+
+        mockMvc.perform(get(SERVICES_API + "/search").param("q", "massage").with(provider))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RateLimitInterceptor.LIMIT_HEADER, "3"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING_HEADER, "1"));
+    }
+
+    private static RequestPostProcessor provider(String userId) {
+        return jwt().jwt(jwt -> jwt.subject(userId)).authorities(new SimpleGrantedAuthority("ROLE_PROVIDER"));
+    }
+}
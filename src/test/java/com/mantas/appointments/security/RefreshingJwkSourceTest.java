@@ -0,0 +1,205 @@
+package com.mantas.appointments.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshingJwkSourceTest {
+
+    private static final String ISSUER = "http://localhost:8081/realms/appointments-auth";
+
+    @TempDir
+    private Path directory;
+
+    private RSAKey currentKey;
+    private RSAKey rotatedKey;
+    private Path jwksFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        currentKey = new RSAKeyGenerator(2048).keyID("current").generate();
+        rotatedKey = new RSAKeyGenerator(2048).keyID("rotated").generate();
+        jwksFile = directory.resolve("jwks.json");
+    }
+
+    @Test
+    void givenStaticJwksFile_whenDecodeToken_thenVerifiesWithoutFetching() throws Exception {
+        writeJwks(new JWKSet(currentKey));
+        RefreshingJwkSource source = new RefreshingJwkSource(new FileSystemResource(jwksFile), null, Duration.ZERO, Clock.systemUTC());
+
+        Jwt jwt = decoder(source).decode(sign(currentKey, ISSUER));
+
+        assertEquals("user-id", jwt.getSubject());
+    }
+
+    @Test
+    void givenTokenOfOtherIssuer_whenDecodeToken_thenRejects() throws Exception {
+        writeJwks(new JWKSet(currentKey));
+        RefreshingJwkSource source = new RefreshingJwkSource(new FileSystemResource(jwksFile), null, Duration.ZERO, Clock.systemUTC());
+
+        assertThrows(JwtException.class, () -> decoder(source).decode(sign(currentKey, "http://attacker")));
+    }
+
+    @Test
+    void givenUnknownKeyId_whenSelectKeys_thenRefetchesAndSavesSnapshot() throws Exception {
+        writeJwks(new JWKSet(currentKey));
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(new FileSystemResource(jwksFile),
+                counting(fetches, new JWKSet(List.of(currentKey, rotatedKey))), Duration.ZERO, Clock.systemUTC());
+
+        Jwt jwt = decoder(source).decode(sign(rotatedKey, ISSUER));
+
+        assertEquals("user-id", jwt.getSubject());
+        assertEquals(1, fetches.get());
+        assertEquals(2, JWKSet.load(jwksFile.toFile()).size());
+        assertTrue(JWKSet.load(jwksFile.toFile()).getKeys().stream().noneMatch(JWK::isPrivate));
+    }
+
+    @Test
+    void givenConcurrentUnknownKeyIds_whenSelectKeys_thenFetchesOnce() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        Callable<JWKSet> slowRemote = () -> {
+            fetches.incrementAndGet();
+            Thread.sleep(200);
+            return new JWKSet(rotatedKey);
+        };
+        RefreshingJwkSource source = new RefreshingJwkSource(null, slowRemote, Duration.ZERO, Clock.systemUTC());
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> source.get(selector("rotated"), null).size()));
+            }
+        }
+
+        assertEquals(1, fetches.get());
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get());
+        }
+    }
+
+    @Test
+    void givenRecentRefetch_whenSelectOtherUnknownKeyId_thenDoesNotFetchAgain() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(null, counting(fetches, new JWKSet(currentKey)),
+                Duration.ofSeconds(30), Clock.systemUTC());
+
+        assertTrue(source.get(selector("unknown-1"), null).isEmpty());
+        assertTrue(source.get(selector("unknown-2"), null).isEmpty());
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void givenFetchFails_whenSelectUnknownKeyId_thenKeepsCurrentKeys() throws Exception {
+        writeJwks(new JWKSet(currentKey));
+        RefreshingJwkSource source = new RefreshingJwkSource(new FileSystemResource(jwksFile),
+                () -> {
+                    throw new IOException("Connection refused");
+                }, Duration.ZERO, Clock.systemUTC());
+
+        assertTrue(source.get(selector("rotated"), null).isEmpty());
+
+        assertEquals(1, source.get(selector("current"), null).size());
+    }
+
+    @Test
+    void givenNoLocalKeys_whenStartRefreshing_thenFetchesInBackground() throws Exception {
+        CountDownLatch fetched = new CountDownLatch(1);
+        RefreshingJwkSource source = new RefreshingJwkSource(new FileSystemResource(jwksFile), () -> {
+            fetched.countDown();
+            return new JWKSet(currentKey);
+        }, Duration.ZERO, Clock.systemUTC());
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        try (source) {
+            source.startRefreshing(scheduler, Duration.ofMinutes(10));
+
+            assertTrue(fetched.await(5, TimeUnit.SECONDS));
+            assertTrue(waitForFile());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private boolean waitForFile() throws InterruptedException {
+        for (int i = 0; i < 50 && !Files.exists(jwksFile); i++) {
+            Thread.sleep(100);
+        }
+        return Files.exists(jwksFile);
+    }
+
+    private void writeJwks(JWKSet jwkSet) throws IOException {
+        Files.writeString(jwksFile, jwkSet.toString());
+    }
+
+    private static JwtDecoder decoder(RefreshingJwkSource source) {
+        OAuth2ResourceServerProperties properties = new OAuth2ResourceServerProperties();
+        properties.getJwt().setIssuerUri(ISSUER);
+        return new JwksConfig().jwtDecoder(source, properties);
+    }
+
+    private static Callable<JWKSet> counting(AtomicInteger fetches, JWKSet jwkSet) {
+        return () -> {
+            fetches.incrementAndGet();
+            return jwkSet;
+        };
+    }
+
+    private static JWKSelector selector(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+
+    private static String sign(RSAKey key, String issuer) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-id")
+                .issuer(issuer)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofMinutes(5))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -2,7 +2,10 @@ package com.mantas.appointments.security;
 
 import com.mantas.appointments.controller.AppointmentsController;
 import com.mantas.appointments.controller.ServicesController;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.service.Appointments;
 import com.mantas.appointments.service.OfferedServicesService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -10,7 +13,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static com.mantas.appointments.utils.TestSecurityUtils.jwtWithRole;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,6 +36,14 @@ public class RoleAccessTest {
     @MockitoBean
     private OfferedServicesService servicesService;
 
+    @MockitoBean
+    private Appointments appointmentsService;
+
+    @BeforeEach
+    void setUp() {
+        when(servicesService.getAllServices(any(), any())).thenReturn(new PageResponse<>(List.of(), null));
+    }
+
     @Test
     void givenClient_whenAccessServices_thenForbidden() throws Exception {
         mockMvc.perform(get(SERVICES_API)
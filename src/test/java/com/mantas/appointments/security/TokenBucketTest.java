@@ -0,0 +1,101 @@
+package com.mantas.appointments.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000;
+    private static final long START = 5 * SECOND;
+
+    @Test
+    void givenFullBucket_whenConsumeCapacity_thenRejectsUntilRefilled() {
+        TokenBucket bucket = new TokenBucket(3, 2, START);
+
+        assertEquals(2, bucket.tryConsume(START));
+        assertEquals(1, bucket.tryConsume(START));
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(-SECOND / 2, bucket.tryConsume(START));
+        assertEquals(-SECOND / 4, bucket.tryConsume(START + SECOND / 4));
+
+        assertEquals(0, bucket.tryConsume(START + SECOND / 2));
+    }
+
+    @Test
+    void givenPartialRefills_whenConsume_thenKeepsFractionOfNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 2, START);
+        bucket.tryConsume(START);
+
+        assertEquals(-SECOND / 10, bucket.tryConsume(START + 4 * SECOND / 10));
+        assertEquals(0, bucket.tryConsume(START + 6 * SECOND / 10));
+        assertEquals(-4 * SECOND / 10, bucket.tryConsume(START + 7 * SECOND / 10));
+    }
+
+    @Test
+    void givenLongIdle_whenConsume_thenRefillsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 2, START);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(START);
+        }
+
+        assertEquals(2, bucket.tryConsume(START + 60 * SECOND));
+    }
+
+    @Test
+    void givenOlderTimeThanLastRefill_whenConsume_thenDoesNotRefill() {
+        TokenBucket bucket = new TokenBucket(2, 1, START);
+        bucket.tryConsume(START + SECOND);
+        bucket.tryConsume(START + SECOND);
+
+        assertEquals(-SECOND, bucket.tryConsume(START + SECOND - 10));
+    }
+
+    @Test
+    void givenNegativeClock_whenConsume_thenRefillsAcrossWrap() {
+        TokenBucket bucket = new TokenBucket(1, 1, -SECOND / 2);
+        bucket.tryConsume(-SECOND / 2);
+
+        assertEquals(0, bucket.tryConsume(SECOND / 2));
+    }
+
+    @Test
+    void givenConcurrentConsumers_whenConsume_thenGrantsExactlyCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 1, START);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            Future<?>[] consumers = new Future<?>[8];
+            for (int i = 0; i < consumers.length; i++) {
+                consumers[i] = executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 500; j++) {
+                        if (bucket.tryConsume(START) >= 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> consumer : consumers) {
+                consumer.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(1000, granted.get());
+    }
+
+    @Test
+    void givenCapacityAboveMaximum_whenCreate_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, 1, START));
+    }
+}
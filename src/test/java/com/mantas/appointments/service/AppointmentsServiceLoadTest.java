@@ -0,0 +1,144 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.exception.AppointmentConflictException;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.AppointmentsRepository;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeTestUserAuthentication;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Books appointments from many concurrent clients through the full booking path, database included.
+ */
+@Testcontainers
+public class AppointmentsServiceLoadTest extends AbstractIntegrationTest {
+
+    private static final Instant START = Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+    private static final int CLIENTS = 1000;
+    private static final int SLOTS = 24;
+
+    @Autowired
+    private Appointments appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        appointmentsRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentsRepository.deleteAll();
+    }
+
+    @Test
+    void givenConcurrentClientsCompetingForSlots_whenBookAppointment_thenNeverDoubleBooks() throws Exception {
+        OfferedService service = saveServiceOfNewProvider();
+
+        List<Boolean> results = runConcurrently(CLIENTS, client -> {
+            Instant start = START.plus(Duration.ofHours(ThreadLocalRandom.current().nextInt(SLOTS)));
+            appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), start));
+        });
+
+        long booked = results.stream().filter(Boolean::booleanValue).count();
+        Integer overlapping = jdbcTemplate.queryForObject("""
+                select count(*) from appointment a join appointment b
+                on a.provider_id = b.provider_id and a.id < b.id and a.status = 'BOOKED' and b.status = 'BOOKED'
+                and a.start_time < b.end_time and b.start_time < a.end_time""", Integer.class);
+        assertEquals(0, overlapping);
+        assertEquals(booked, appointmentsRepository.count());
+        assertTrue(booked > 0 && booked <= SLOTS);
+    }
+
+    @Test
+    void givenDistinctProviders_whenBookAppointment_thenBooksEveryAppointment() throws Exception {
+        int providers = 16;
+        int bookingsPerProvider = 10;
+        List<OfferedService> services = new ArrayList<>();
+        for (int i = 0; i < providers; i++) {
+            services.add(saveServiceOfNewProvider());
+        }
+        int bookings = providers * bookingsPerProvider;
+
+        // Throughput across providers is measured by ProviderLocksBenchmark, timings here would only make the test flaky
+        List<Boolean> results = runConcurrently(bookings, client ->
+                appointmentsService.bookAppointment(new AppointmentRequest(services.get(client % providers).getId(),
+                        START.plus(Duration.ofHours(client / providers)))));
+
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        assertEquals(bookings, appointmentsRepository.count());
+    }
+
+    private OfferedService saveServiceOfNewProvider() {
+        OfferedService service = OfferedServiceTestFactory.buildDefaultOfferedService();
+        service.setOwnerId(UUID.randomUUID().toString());
+        return servicesRepository.save(service);
+    }
+
+    /**
+     * Runs the bookings of all clients at once on virtual threads.
+     *
+     * @return for every client whether its booking succeeded, {@code false} if it was rejected as a conflict
+     */
+    private static List<Boolean> runConcurrently(int clients, ClientBooking booking) throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                futures.add(executor.submit(() -> {
+                    initializeTestUserAuthentication("client-" + client);
+                    startGate.await();
+                    try {
+                        booking.book(client);
+                        return true;
+                    } catch (AppointmentConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            startGate.countDown();
+        }
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface ClientBooking {
+        void book(int client);
+    }
+}
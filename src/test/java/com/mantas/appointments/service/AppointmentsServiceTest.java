@@ -0,0 +1,206 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.AppointmentRequest;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.dto.AvailabilityResponse;
+import com.mantas.appointments.dto.TimeRange;
+import com.mantas.appointments.dto.TimeSlot;
+import com.mantas.appointments.entity.Appointment;
+import com.mantas.appointments.entity.AppointmentStatus;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.exception.AppointmentConflictException;
+import com.mantas.appointments.exception.InvalidRequestException;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.AppointmentsRepository;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.repository.ProviderAvailabilityRepository;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mantas.appointments.utils.OfferedServiceTestFactory.DEFAULT_OWNER_ID;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeTestUserAuthentication;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Testcontainers
+public class AppointmentsServiceTest extends AbstractIntegrationTest {
+
+    private static final Instant START = Instant.now().plus(7, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    private static final Long INVALID_ID = 999L;
+    private static final LocalDate DAY = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+
+    @Autowired
+    private Appointments appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+
+    private OfferedService service;
+
+    @BeforeEach
+    void setUp() {
+        appointmentsRepository.deleteAll();
+        availabilityRepository.deleteAll();
+        // A fresh provider per test, so the in-memory schedules of other tests do not interfere
+        OfferedService offeredService = OfferedServiceTestFactory.buildDefaultOfferedService();
+        offeredService.setOwnerId(UUID.randomUUID().toString());
+        offeredService.setDurationMinutes(45);
+        service = servicesRepository.save(offeredService);
+        initializeDefaultTestUserAuthentication();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentsRepository.deleteAll();
+        availabilityRepository.deleteAll();
+    }
+
+    @Test
+    void givenFreeSlot_whenBookAppointment_thenBooksForServiceDuration() {
+        AppointmentResponse result = appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+
+        assertEquals(service.getId(), result.serviceId());
+        assertEquals(service.getOwnerId(), result.providerId());
+        assertEquals(DEFAULT_OWNER_ID, result.clientId());
+        assertEquals(START.plus(Duration.ofMinutes(45)), result.endTime());
+        assertEquals(AppointmentStatus.BOOKED, result.status());
+    }
+
+    @Test
+    void givenOverlappingAppointment_whenBookAppointment_thenThrowsAppointmentConflictException() {
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+
+        AppointmentRequest overlapping = new AppointmentRequest(service.getId(), START.plus(Duration.ofMinutes(30)));
+        assertThrows(AppointmentConflictException.class, () -> appointmentsService.bookAppointment(overlapping));
+        assertEquals(1, appointmentsRepository.count());
+    }
+
+    @Test
+    void givenBackToBackAppointments_whenBookAppointment_thenBooksBoth() {
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START.plus(Duration.ofMinutes(45))));
+
+        assertEquals(2, appointmentsRepository.count());
+    }
+
+    @Test
+    void givenAppointmentMissingFromIndex_whenBookAppointment_thenDatabaseRejectsOverlap() {
+        // Loads the provider's schedule, then books behind the index's back like another instance would
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+        appointmentsRepository.save(Appointment.builder()
+                .service(service)
+                .providerId(service.getOwnerId())
+                .clientId("other-client")
+                .startTime(START.plus(Duration.ofHours(2)))
+                .endTime(START.plus(Duration.ofHours(3)))
+                .status(AppointmentStatus.BOOKED)
+                .build());
+
+        AppointmentRequest overlapping = new AppointmentRequest(service.getId(), START.plus(Duration.ofMinutes(150)));
+        assertThrows(AppointmentConflictException.class, () -> appointmentsService.bookAppointment(overlapping));
+        assertEquals(2, appointmentsRepository.count());
+    }
+
+    @Test
+    void givenCancelledAppointment_whenBookAppointment_thenBooksFreedSlot() {
+        AppointmentResponse booked = appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+
+        AppointmentResponse cancelled = appointmentsService.cancelAppointment(booked.id());
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), START));
+
+        assertEquals(AppointmentStatus.CANCELLED, cancelled.status());
+        assertEquals(2, appointmentsRepository.count());
+    }
+
+    @Test
+    void givenInvalidServiceId_whenBookAppointment_thenThrowsEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class,
+                () -> appointmentsService.bookAppointment(new AppointmentRequest(INVALID_ID, START)));
+    }
+
+    @Test
+    void givenOtherUsersAppointment_whenGetAppointmentById_thenThrowsAccessDeniedException() {
+        Appointment appointment = appointmentsRepository.save(Appointment.builder()
+                .service(service)
+                .providerId(service.getOwnerId())
+                .clientId("other-client")
+                .startTime(START)
+                .endTime(START.plus(Duration.ofHours(1)))
+                .status(AppointmentStatus.BOOKED)
+                .build());
+
+        assertThrows(AccessDeniedException.class, () -> appointmentsService.getAppointmentById(appointment.getId()));
+    }
+
+    @Test
+    void givenOverlappingRanges_whenSetAvailability_thenReturnsMergedRanges() {
+        AvailabilityResponse result = appointmentsService.setAvailability(DAY, List.of(
+                new TimeRange(LocalTime.of(13, 0), LocalTime.MIDNIGHT),
+                new TimeRange(LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new TimeRange(LocalTime.of(11, 0), LocalTime.of(12, 30))));
+
+        assertEquals(List.of(
+                new TimeRange(LocalTime.of(9, 0), LocalTime.of(12, 30)),
+                new TimeRange(LocalTime.of(13, 0), LocalTime.MIDNIGHT)), result.ranges());
+    }
+
+    @Test
+    void givenExistingAvailability_whenSetAvailability_thenReplacesIt() {
+        appointmentsService.setAvailability(DAY, List.of(new TimeRange(LocalTime.of(9, 0), LocalTime.of(17, 0))));
+
+        appointmentsService.setAvailability(DAY, List.of(new TimeRange(LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+        assertEquals(1, availabilityRepository.findByProviderIdAndDayBetween(DEFAULT_OWNER_ID, DAY, DAY).size());
+    }
+
+    @Test
+    void givenUnalignedRange_whenSetAvailability_thenThrowsInvalidRequestException() {
+        List<TimeRange> ranges = List.of(new TimeRange(LocalTime.of(9, 2), LocalTime.of(10, 0)));
+
+        assertThrows(InvalidRequestException.class, () -> appointmentsService.setAvailability(DAY, ranges));
+    }
+
+    @Test
+    void givenAvailabilityAndBooking_whenFindFreeSlots_thenReturnsSlotsFittingAroundBooking() {
+        // The service lasts 45 minutes, the provider works 09:00 - 11:00 and is booked 09:30 - 10:15
+        service.setOwnerId(DEFAULT_OWNER_ID + "-slots");
+        service = servicesRepository.save(service);
+        initializeTestUserAuthentication(service.getOwnerId());
+        appointmentsService.setAvailability(DAY, List.of(new TimeRange(LocalTime.of(9, 0), LocalTime.of(11, 0))));
+        Instant dayStart = DAY.atStartOfDay(ZoneOffset.UTC).toInstant();
+        appointmentsService.bookAppointment(new AppointmentRequest(service.getId(), dayStart.plus(Duration.ofMinutes(570))));
+
+        List<TimeSlot> result = appointmentsService.findFreeSlots(service.getId(), DAY.minusDays(1), DAY.plusDays(1));
+
+        assertEquals(List.of(dayStart.plus(Duration.ofMinutes(615))), result.stream().map(TimeSlot::start).toList());
+        assertEquals(dayStart.plus(Duration.ofMinutes(660)), result.getFirst().end());
+    }
+
+    @Test
+    void givenTooLongRange_whenFindFreeSlots_thenThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class,
+                () -> appointmentsService.findFreeSlots(service.getId(), DAY, DAY.plusDays(31)));
+    }
+}
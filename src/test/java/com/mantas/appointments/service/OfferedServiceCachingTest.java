@@ -0,0 +1,181 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
+import com.mantas.appointments.dto.OfferedServiceRequest;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Objects;
+
+import static com.mantas.appointments.utils.OfferedServiceTestFactory.DEFAULT_CATEGORY;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+public class OfferedServiceCachingTest extends AbstractIntegrationTest {
+
+    private static final ServiceFilter CATEGORY_FILTER = new ServiceFilter(DEFAULT_CATEGORY, null, null, null);
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OfferedServiceCacheInvalidator invalidator;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        servicesRepository.deleteAll();
+        awaitNotifications();
+        initializeDefaultTestUserAuthentication();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void givenCachedService_whenReadInSeparateTransactions_thenIssuesNoSql() throws InterruptedException {
+        Long id = saveService();
+        statistics.clear();
+
+        findInNewTransaction(id);
+        findInNewTransaction(id);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void givenCachedService_whenUpdateService_thenWritesInOneStatementAndEvictsCachedService() throws InterruptedException {
+        Long id = saveService();
+        findInNewTransaction(id);
+        statistics.clear();
+
+        servicesService.updateService(id, OfferedServiceRequest.builder().name("updated").build());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("updated", findInNewTransaction(id).getName());
+    }
+
+    @Test
+    void givenCachedService_whenDeleteService_thenDeletesInOneStatementAndEvictsCachedService() throws InterruptedException {
+        Long id = saveService();
+        findInNewTransaction(id);
+        statistics.clear();
+
+        servicesService.deleteService(id);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(transactionTemplate.execute(status -> servicesRepository.findById(id)).isEmpty());
+    }
+
+    @Test
+    void givenCachedService_whenPatchService_thenWritesInOneStatementAndEvictsCaches() throws InterruptedException {
+        Long id = saveService();
+        findInNewTransaction(id);
+        filterByCategory();
+        servicesService.getServiceById(id);
+        statistics.clear();
+
+        servicesService.patchService(id, OfferedServicePatchRequest.builder().price(BigDecimal.TEN).build());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertThat(findInNewTransaction(id).getPrice()).isEqualByComparingTo(BigDecimal.TEN);
+        assertThat(filterByCategory().content().getFirst().price()).isEqualByComparingTo(BigDecimal.TEN);
+        assertThat(servicesService.getServiceById(id).price()).isEqualByComparingTo(BigDecimal.TEN);
+    }
+
+    @Test
+    void givenFilteredListingRepeated_whenFilterServices_thenServedFromQueryCache() throws InterruptedException {
+        saveService();
+        filterByCategory();
+        statistics.clear();
+
+        PageResponse<OfferedServiceResponse> cached = filterByCategory();
+
+        assertEquals(1, cached.content().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void givenServiceCreated_whenFilterServices_thenCachedListingIsInvalidated() throws InterruptedException {
+        saveService();
+        filterByCategory();
+
+        servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+
+        assertEquals(2, filterByCategory().content().size());
+    }
+
+    @Test
+    void givenServiceChangedAroundCaches_whenNotified_thenEvictsCachedService() throws InterruptedException {
+        Long id = saveService();
+        findInNewTransaction(id);
+
+        // Written around Hibernate without evicting anything, as another instance would
+        jdbcTemplate.update("UPDATE offered_service SET name = 'changed elsewhere' WHERE id = ?", id);
+
+        assertTrue(awaitName(id, "changed elsewhere"));
+    }
+
+    // Handles the notifications of the write first, so they cannot evict what the test caches next
+    private Long saveService() throws InterruptedException {
+        Long id = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService()).getId();
+        awaitNotifications();
+        return id;
+    }
+
+    private void awaitNotifications() throws InterruptedException {
+        assertTrue(invalidator.awaitNotifications(Duration.ofSeconds(10)));
+    }
+
+    private OfferedService findInNewTransaction(Long id) {
+        return transactionTemplate.execute(status -> servicesRepository.findById(id).orElseThrow());
+    }
+
+    private PageResponse<OfferedServiceResponse> filterByCategory() {
+        return servicesService.filterServices(CATEGORY_FILTER, ServiceSort.ID, Sort.Direction.ASC, null, null);
+    }
+
+    private boolean awaitName(Long id, String name) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (Objects.equals(findInNewTransaction(id).getName(), name)) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
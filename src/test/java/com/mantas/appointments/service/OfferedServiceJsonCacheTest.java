@@ -0,0 +1,138 @@
+package com.mantas.appointments.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers
+public class OfferedServiceJsonCacheTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private OfferedServiceJsonCache jsonCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ObjectWriter uncachedWriter;
+
+    @BeforeEach
+    void setUp() {
+        servicesRepository.deleteAll();
+        jsonCache.evictAll();
+        initializeDefaultTestUserAuthentication();
+        uncachedWriter = objectMapper.writer().withAttribute(OfferedServiceJsonCache.BYPASS_ATTRIBUTE, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenServiceWrittenBefore_whenWriteAgain_thenCopiesCachedJson() throws Exception {
+        OfferedServiceResponse service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        double hits = cacheGets("hit");
+
+        byte[] first = objectMapper.writeValueAsBytes(service);
+        byte[] second = objectMapper.writeValueAsBytes(service);
+
+        assertArrayEquals(uncachedWriter.writeValueAsBytes(service), first);
+        assertArrayEquals(first, second);
+        assertEquals(hits + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void givenServiceChanged_whenWrite_thenWritesNewVersion() throws Exception {
+        OfferedServiceResponse service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        objectMapper.writeValueAsBytes(service);
+
+        OfferedServiceResponse patched = servicesService.patchService(service.id(),
+                OfferedServicePatchRequest.builder().name("patched").build());
+
+        assertArrayEquals(uncachedWriter.writeValueAsBytes(patched), objectMapper.writeValueAsBytes(patched));
+    }
+
+    @Test
+    void givenStaleVersionCached_whenWriteNewVersion_thenWritesNewVersion() throws Exception {
+        OfferedServiceResponse service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        objectMapper.writeValueAsBytes(service);
+        OfferedServiceResponse changed = OfferedServiceResponse.builder()
+                .id(service.id())
+                .name("changed elsewhere")
+                .price(service.price())
+                .ownerId(service.ownerId())
+                .category(service.category())
+                .created(service.created())
+                .updated(service.updated().plusSeconds(1))
+                .build();
+
+        assertArrayEquals(uncachedWriter.writeValueAsBytes(changed), objectMapper.writeValueAsBytes(changed));
+    }
+
+    @Test
+    void givenPageOfCachedServices_whenWrite_thenConcatenatesFragmentsIntoSameJson() throws Exception {
+        servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        servicesService.createService(OfferedServiceTestFactory.buildNoDescOfferedServiceRequest());
+        PageResponse<OfferedServiceResponse> page = servicesService.getAllServices(null, null);
+        objectMapper.writeValueAsBytes(page);
+        double hits = cacheGets("hit");
+
+        byte[] json = objectMapper.writeValueAsBytes(page);
+
+        assertArrayEquals(uncachedWriter.writeValueAsBytes(page), json);
+        assertEquals(hits + 2, cacheGets("hit"));
+    }
+
+    @Test
+    void givenObjectMapperWithOtherConfiguration_whenWrite_thenWritesWithItsConfiguration() throws Exception {
+        OfferedServiceResponse service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        objectMapper.writeValueAsBytes(service);
+        ObjectMapper indenting = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+
+        byte[] json = indenting.writeValueAsBytes(service);
+
+        assertArrayEquals(indenting.writer().withAttribute(OfferedServiceJsonCache.BYPASS_ATTRIBUTE, true)
+                .writeValueAsBytes(service), json);
+    }
+
+    @Test
+    void givenNonAsciiService_whenWriteAgain_thenCopiesSameUtf8Json() throws Exception {
+        OfferedServiceResponse service = servicesService.createService(OfferedServiceTestFactory.buildDefaultOfferedServiceRequest());
+        servicesService.patchService(service.id(), OfferedServicePatchRequest.builder().name("Kirpykla Šiauliuose").build());
+        OfferedServiceResponse patched = servicesService.getServiceById(service.id());
+        objectMapper.writeValueAsBytes(patched);
+
+        assertArrayEquals(uncachedWriter.writeValueAsBytes(patched), objectMapper.writeValueAsBytes(patched));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", OfferedServiceJsonCache.CACHE_NAME).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,184 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.event.OfferedServiceChangePublisher;
+import com.mantas.appointments.event.OfferedServiceChangedEvent;
+import com.mantas.appointments.event.OfferedServiceChangedEvent.ChangeType;
+import com.mantas.appointments.integration.AbstractIntegrationTest;
+import com.mantas.appointments.repository.OfferedServiceOutboxRepository;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import com.mantas.appointments.utils.OfferedServiceTestFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.mantas.appointments.utils.OfferedServiceTestFactory.buildDefaultOfferedServiceRequest;
+import static com.mantas.appointments.utils.OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers
+public class OfferedServiceOutboxTest extends AbstractIntegrationTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private OfferedServices servicesService;
+
+    @Autowired
+    private OfferedServicesRepository servicesRepository;
+
+    @Autowired
+    private OfferedServiceOutboxRepository outboxRepository;
+
+    @Autowired
+    private OfferedServiceOutboxRelay relay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private OfferedServiceChangePublisher publisher;
+
+    @DynamicPropertySource
+    static void configureOutbox(DynamicPropertyRegistry registry) {
+        registry.add("app.services.outbox.batch-size", () -> BATCH_SIZE);
+    }
+
+    @BeforeEach
+    void setUp() {
+        servicesRepository.deleteAll();
+        outboxRepository.deleteAllInBatch();
+        initializeDefaultTestUserAuthentication();
+    }
+
+    @Test
+    void givenServiceCreatedAndUpdated_whenRelay_thenPublishesChangesInOrderWithCurrentState() {
+        Long id = servicesService.createService(buildDefaultOfferedServiceRequest()).id();
+        OfferedServiceResponse updated = servicesService.updateService(id, buildFullUpdateOfferedServiceRequest());
+
+        assertEquals(2, relay.relay());
+
+        List<OfferedServiceChangedEvent> changes = publishedChanges();
+        assertThat(changes).extracting(OfferedServiceChangedEvent::type)
+                .containsExactly(ChangeType.CREATED, ChangeType.UPDATED);
+        assertThat(changes).extracting(OfferedServiceChangedEvent::id).containsOnly(id);
+        // Mapped from the row like an API response, prices come back at the scale of the column
+        assertThat(changes).extracting(OfferedServiceChangedEvent::service).allSatisfy(service ->
+                assertThat(service).usingRecursiveComparison()
+                        .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                        .isEqualTo(updated));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void givenServiceDeletedBeforeRelay_whenRelay_thenPublishesOnlyDeletion() {
+        Long id = servicesService.createService(buildDefaultOfferedServiceRequest()).id();
+        servicesService.updateService(id, buildFullUpdateOfferedServiceRequest());
+        servicesService.deleteService(id);
+
+        assertEquals(3, relay.relay());
+
+        assertEquals(List.of(OfferedServiceChangedEvent.deleted(id)), publishedChanges());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void givenRolledBackWrite_whenRelay_thenPublishesNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            servicesRepository.saveAndFlush(OfferedServiceTestFactory.buildDefaultOfferedService());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, relay.relay());
+        verify(publisher, never()).publish(anyList());
+    }
+
+    @Test
+    void givenFailingPublisher_whenRelay_thenKeepsChangesForNextRelay() {
+        servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Broker unavailable");
+        }).when(publisher).publish(anyList());
+
+        assertThrows(IllegalStateException.class, relay::relay);
+        assertEquals(1, outboxRepository.count());
+    }
+
+    @Test
+    void givenRelaysOnSeveralThreads_whenRelay_thenPublishesEveryChangeOnce() throws Exception {
+        int services = 20 * BATCH_SIZE;
+        servicesRepository.saveAll(IntStream.range(0, services)
+                .mapToObj(i -> OfferedServiceTestFactory.buildDefaultOfferedService())
+                .toList());
+        Queue<Long> published = new ConcurrentLinkedQueue<>();
+        Set<String> publishingThreads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<OfferedServiceChangedEvent> changes = invocation.getArgument(0);
+            changes.forEach(change -> published.add(change.id()));
+            publishingThreads.add(Thread.currentThread().getName());
+            Thread.sleep(20);
+            return null;
+        }).when(publisher).publish(any());
+
+        int relays = 4;
+        List<Future<Integer>> relayed = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(relays)) {
+            for (int i = 0; i < relays; i++) {
+                relayed.add(executor.submit(relay::relay));
+            }
+        }
+
+        int total = 0;
+        for (Future<Integer> count : relayed) {
+            total += count.get();
+        }
+        assertEquals(services, total);
+        assertThat(published).hasSize(services).doesNotHaveDuplicates();
+        assertThat(publishingThreads).hasSizeGreaterThan(1);
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void givenBulkCreate_whenRelay_thenPublishesChangeOfEveryService() {
+        List<OfferedServiceResponse> created = servicesService.createServices(List.of(
+                buildDefaultOfferedServiceRequest(), buildDefaultOfferedServiceRequest()));
+
+        assertEquals(2, relay.relay());
+
+        assertThat(publishedChanges()).extracting(OfferedServiceChangedEvent::id)
+                .containsExactlyInAnyOrderElementsOf(created.stream().map(OfferedServiceResponse::id).toList());
+    }
+
+    private List<OfferedServiceChangedEvent> publishedChanges() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OfferedServiceChangedEvent>> changes = ArgumentCaptor.forClass(List.class);
+        verify(publisher).publish(changes.capture());
+        return changes.getValue();
+    }
+}
@@ -1,8 +1,19 @@
 package com.mantas.appointments.service;
 
+import com.mantas.appointments.dto.OfferedServiceBulkUpdateRequest;
+import com.mantas.appointments.dto.OfferedServicePatchRequest;
 import com.mantas.appointments.dto.OfferedServiceRequest;
 import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.PageResponse;
+import com.mantas.appointments.dto.ServiceFilter;
+import com.mantas.appointments.dto.ServiceSort;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.dto.VersionStamp;
+import com.mantas.appointments.entity.Category;
 import com.mantas.appointments.entity.OfferedService;
+import com.mantas.appointments.exception.BulkValidationException;
+import com.mantas.appointments.exception.ErrorMessage;
+import com.mantas.appointments.exception.InvalidRequestException;
 import com.mantas.appointments.integration.AbstractIntegrationTest;
 import com.mantas.appointments.repository.OfferedServicesRepository;
 import com.mantas.appointments.utils.OfferedServiceTestFactory;
@@ -10,18 +21,28 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.mantas.appointments.utils.TestSecurityUtils.initializeDefaultTestUserAuthentication;
+import static com.mantas.appointments.utils.TestSecurityUtils.initializeTestUserAuthentication;
 import static com.mantas.appointments.utils.TestUtils.entityNotFoundMessage;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Testcontainers
 public class OfferedServicesServiceTest extends AbstractIntegrationTest {
@@ -34,13 +55,21 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
     @Autowired
     private OfferedServicesRepository servicesRepository;
 
+    @Autowired
+    private OfferedServiceCacheInvalidator invalidator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private OfferedService defaultService;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws InterruptedException {
         servicesRepository.deleteAll();
         OfferedService created = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
         defaultService = servicesRepository.findById(created.getId()).orElse(null);
+        // The change notifications of the writes above would otherwise evict caches in the middle of a test
+        assertTrue(invalidator.awaitNotifications(Duration.ofSeconds(10)));
         initializeDefaultTestUserAuthentication();
     }
 
@@ -49,9 +78,126 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
         // Create another service to ensure multiple entries
         servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
 
-        List<OfferedServiceResponse> result = servicesService.getAllServices();
+        PageResponse<OfferedServiceResponse> result = servicesService.getAllServices(null, null);
 
-        assertEquals(2, result.size());
+        assertEquals(2, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void givenMoreServicesThanPageSize_whenGetAllServices_thenPagesThroughAllServices() {
+        OfferedService second = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        OfferedService third = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+
+        PageResponse<OfferedServiceResponse> firstPage = servicesService.getAllServices(null, 2);
+        assertThat(firstPage.content().stream().map(OfferedServiceResponse::id).toList())
+                .isEqualTo(List.of(defaultService.getId(), second.getId()));
+        assertNotNull(firstPage.nextCursor());
+
+        PageResponse<OfferedServiceResponse> secondPage = servicesService.getAllServices(firstPage.nextCursor(), 2);
+        assertThat(secondPage.content().stream().map(OfferedServiceResponse::id).toList())
+                .isEqualTo(List.of(third.getId()));
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetAllServices_thenThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> servicesService.getAllServices("not-a-cursor", null));
+    }
+
+    @Test
+    void givenNonPositiveSize_whenGetAllServices_thenThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> servicesService.getAllServices(null, 0));
+    }
+
+    @Test
+    void givenFilter_whenFilterServices_thenReturnsMatchingServicesSortedAndPaged() {
+        OfferedService cheap = saveService(Category.MASSAGE, 10);
+        OfferedService medium = saveService(Category.MASSAGE, 50);
+        OfferedService expensive = saveService(Category.MASSAGE, 90);
+        saveService(Category.MASSAGE, 500);
+        saveService(Category.NAILS, 50);
+        ServiceFilter filter = new ServiceFilter(Category.MASSAGE, BigDecimal.valueOf(10), BigDecimal.valueOf(100), null);
+
+        PageResponse<OfferedServiceResponse> firstPage = servicesService.filterServices(filter, ServiceSort.PRICE, Sort.Direction.DESC, null, 2);
+        PageResponse<OfferedServiceResponse> secondPage = servicesService.filterServices(filter, ServiceSort.PRICE, Sort.Direction.DESC, firstPage.nextCursor(), 2);
+
+        assertEquals(List.of(expensive.getId(), medium.getId()), firstPage.content().stream().map(OfferedServiceResponse::id).toList());
+        assertEquals(List.of(cheap.getId()), secondPage.content().stream().map(OfferedServiceResponse::id).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void givenOwnerFilter_whenFilterServices_thenReturnsOnlyOwnersServices() {
+        OfferedService otherOwners = OfferedServiceTestFactory.buildDefaultOfferedService();
+        otherOwners.setOwnerId("other-owner");
+        servicesRepository.save(otherOwners);
+        ServiceFilter filter = new ServiceFilter(null, null, null, OfferedServiceTestFactory.DEFAULT_OWNER_ID);
+
+        PageResponse<OfferedServiceResponse> result = servicesService.filterServices(filter, ServiceSort.ID, Sort.Direction.ASC, null, null);
+
+        assertEquals(List.of(defaultService.getId()), result.content().stream().map(OfferedServiceResponse::id).toList());
+    }
+
+    @Test
+    void givenEmptyPriceRange_whenFilterServices_thenThrowsInvalidRequestException() {
+        ServiceFilter filter = new ServiceFilter(null, BigDecimal.TEN, BigDecimal.ONE, null);
+
+        assertThrows(InvalidRequestException.class,
+                () -> servicesService.filterServices(filter, ServiceSort.ID, Sort.Direction.ASC, null, null));
+    }
+
+    @Test
+    void givenTextQuery_whenSearchServices_thenReturnsRankedMatches() {
+        OfferedService descriptionMatch = saveService("Relaxing massage", "Swedish or deep tissue techniques");
+        OfferedService nameMatch = saveService("Deep tissue massage", "Targets chronic muscle tension");
+        saveService("Gel nails", "Long lasting gel manicure");
+
+        List<OfferedServiceResponse> result = servicesService.searchServices("deep tissue", 0, null);
+
+        assertEquals(List.of(nameMatch.getId(), descriptionMatch.getId()), result.stream().map(OfferedServiceResponse::id).toList());
+    }
+
+    @Test
+    void givenUpdatedService_whenSearchServices_thenMatchesNewText() {
+        servicesService.updateService(defaultService.getId(), OfferedServiceRequest.builder().name("Gel nails").build());
+
+        List<OfferedServiceResponse> result = servicesService.searchServices("nails", 0, null);
+
+        assertEquals(List.of(defaultService.getId()), result.stream().map(OfferedServiceResponse::id).toList());
+    }
+
+    @Test
+    void givenBlankQuery_whenSearchServices_thenThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> servicesService.searchServices(" ", 0, null));
+    }
+
+    @Test
+    void givenCreatedAndRenamedServices_whenSuggestServices_thenReflectsCommittedChanges() {
+        OfferedServiceResponse created = servicesService.createService(OfferedServiceRequest.builder()
+                .name("Zumba class").description("Dance workout").category(Category.FITNESS).price(BigDecimal.TEN).build());
+        OfferedServiceResponse renamed = servicesService.createService(OfferedServiceRequest.builder()
+                .name("Zumba kids").description("Dance workout").category(Category.FITNESS).price(BigDecimal.TEN).build());
+        servicesService.updateService(renamed.id(), OfferedServiceRequest.builder().name("Yoga kids").build());
+
+        List<ServiceSuggestion> result = servicesService.suggestServices("zum", Category.FITNESS, null);
+
+        assertEquals(List.of(created.id()), result.stream().map(ServiceSuggestion::id).toList());
+    }
+
+    @Test
+    void givenNonPositiveLimit_whenSuggestServices_thenThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> servicesService.suggestServices("zum", null, 0));
+    }
+
+    @Test
+    void givenMultipleServices_whenExportServices_thenStreamsAllServicesInIdOrder() {
+        OfferedService second = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        List<Long> exportedIds = new ArrayList<>();
+
+        servicesService.exportServices(service -> exportedIds.add(service.id()));
+
+        assertEquals(List.of(defaultService.getId(), second.getId()), exportedIds);
     }
 
     @Test
@@ -78,6 +224,53 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
                 });
     }
 
+    @Test
+    void givenUpdatedService_whenGetServiceById_thenVersionChanges() {
+        VersionStamp before = VersionStamp.of(servicesService.getServiceById(defaultService.getId()));
+        VersionStamp pageBefore = VersionStamp.of(servicesService.getAllServices(null, null));
+
+        servicesService.updateService(defaultService.getId(), OfferedServiceTestFactory.buildPartialUpdateOfferedServiceRequest());
+
+        assertNotEquals(before.eTag(), VersionStamp.of(servicesService.getServiceById(defaultService.getId())).eTag());
+        assertNotEquals(pageBefore.eTag(), VersionStamp.of(servicesService.getAllServices(null, null)).eTag());
+    }
+
+    @Test
+    void givenUnchangedServices_whenGetAllServices_thenVersionIsStable() {
+        VersionStamp first = VersionStamp.of(servicesService.getAllServices(null, null));
+        VersionStamp second = VersionStamp.of(servicesService.getAllServices(null, null));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void givenCachedService_whenGetServiceById_thenServesCachedResponse() {
+        OfferedServiceResponse cached = servicesService.getServiceById(defaultService.getId());
+
+        OfferedServiceResponse result = servicesService.getServiceById(defaultService.getId());
+
+        // Neither loaded nor mapped again, which would create a new response
+        assertSame(cached, result);
+    }
+
+    @Test
+    void givenCachedService_whenUpdateService_thenCacheIsRefreshed() {
+        servicesService.getServiceById(defaultService.getId());
+        servicesService.updateService(defaultService.getId(), OfferedServiceTestFactory.buildPartialUpdateOfferedServiceRequest());
+
+        OfferedServiceResponse result = servicesService.getServiceById(defaultService.getId());
+
+        assertEquals(OfferedServiceTestFactory.UPDATED_NAME, result.name());
+    }
+
+    @Test
+    void givenCachedService_whenDeleteService_thenCacheIsEvicted() {
+        servicesService.getServiceById(defaultService.getId());
+        servicesService.deleteService(defaultService.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> servicesService.getServiceById(defaultService.getId()));
+    }
+
     @Test
     void givenInvalidId_whenGetServiceById_thenThrowsServiceNotFoundException() {
         Exception exception = assertThrows(EntityNotFoundException.class, () -> servicesService.getServiceById(INVALID_ID));
@@ -113,6 +306,111 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
         assertEquals(result.created(), result.updated()); // For a new entity, created and updated should be the same
     }
 
+    @Test
+    void givenValidBulkRequest_whenCreateServices_thenSavesAndReturnsAllServices() {
+        List<OfferedServiceRequest> requests = List.of(
+                OfferedServiceTestFactory.buildDefaultOfferedServiceRequest(),
+                OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest(),
+                OfferedServiceTestFactory.buildNoDescOfferedServiceRequest()
+        );
+
+        List<OfferedServiceResponse> result = servicesService.createServices(requests);
+
+        assertEquals(3, result.size());
+        assertEquals(OfferedServiceTestFactory.UPDATED_NAME, result.get(1).name());
+        result.forEach(service -> {
+            assertNotNull(service.id());
+            assertEquals(OfferedServiceTestFactory.DEFAULT_OWNER_ID, service.ownerId());
+        });
+        assertEquals(4, servicesRepository.count());
+    }
+
+    @Test
+    void givenInvalidItemInBulkRequest_whenCreateServices_thenReportsItemErrorsAndSavesNothing() {
+        List<OfferedServiceRequest> requests = List.of(
+                OfferedServiceTestFactory.buildDefaultOfferedServiceRequest(),
+                OfferedServiceTestFactory.buildNoNameOfferedServiceRequest()
+        );
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class, () -> servicesService.createServices(requests));
+
+        assertEquals(ErrorMessage.NAME_BLANK, exception.getValidationErrors().get("[1].name"));
+        assertEquals(1, servicesRepository.count());
+    }
+
+    @Test
+    void givenValidBulkUpdate_whenUpdateServices_thenUpdatesAndReturnsAllServices() {
+        OfferedService other = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(defaultService.getId(), OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest()),
+                new OfferedServiceBulkUpdateRequest(other.getId(), OfferedServiceRequest.builder()
+                        .name(OfferedServiceTestFactory.UPDATED_NAME)
+                        .price(OfferedServiceTestFactory.DEFAULT_PRICE)
+                        .category(OfferedServiceTestFactory.DEFAULT_CATEGORY)
+                        .build())
+        );
+
+        List<OfferedServiceResponse> result = servicesService.updateServices(requests);
+
+        assertEquals(2, result.size());
+        assertEquals(OfferedServiceTestFactory.UPDATED_DESCRIPTION, result.get(0).description());
+        assertEquals(OfferedServiceTestFactory.UPDATED_NAME, result.get(1).name());
+        assertEquals(OfferedServiceTestFactory.DEFAULT_DESCRIPTION, result.get(1).description()); // Not in the request
+        assertEquals(OfferedServiceTestFactory.UPDATED_NAME, servicesService.getServiceById(other.getId()).name());
+    }
+
+    @Test
+    void givenOtherUsersServiceInBulkUpdate_whenUpdateServices_thenThrowsAccessDeniedAndUpdatesNothing() {
+        OfferedService foreign = servicesRepository.save(OfferedServiceTestFactory.buildDefaultOfferedService());
+        initializeTestUserAuthentication("other-provider");
+        OfferedService own = OfferedServiceTestFactory.buildDefaultOfferedService();
+        own.setOwnerId("other-provider");
+        servicesRepository.save(own);
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(own.getId(), OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest()),
+                new OfferedServiceBulkUpdateRequest(foreign.getId(), OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest())
+        );
+
+        assertThrows(AccessDeniedException.class, () -> servicesService.updateServices(requests));
+
+        assertEquals(OfferedServiceTestFactory.DEFAULT_NAME, servicesRepository.findById(own.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void givenInvalidItemInBulkUpdate_whenUpdateServices_thenReportsItemErrors() {
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(defaultService.getId(), OfferedServiceTestFactory.buildNoNameOfferedServiceRequest()),
+                new OfferedServiceBulkUpdateRequest(null, OfferedServiceTestFactory.buildDefaultOfferedServiceRequest())
+        );
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class, () -> servicesService.updateServices(requests));
+
+        assertEquals(ErrorMessage.NAME_BLANK, exception.getValidationErrors().get("[0].service.name"));
+        assertEquals(ErrorMessage.SERVICE_ID_NULL, exception.getValidationErrors().get("[1].id"));
+    }
+
+    @Test
+    void givenDuplicateIdInBulkUpdate_whenUpdateServices_thenReportsDuplicate() {
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(defaultService.getId(), OfferedServiceTestFactory.buildDefaultOfferedServiceRequest()),
+                new OfferedServiceBulkUpdateRequest(defaultService.getId(), OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest())
+        );
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class, () -> servicesService.updateServices(requests));
+
+        assertEquals(ErrorMessage.BULK_DUPLICATE_ID, exception.getValidationErrors().get("[1].id"));
+    }
+
+    @Test
+    void givenUnknownIdInBulkUpdate_whenUpdateServices_thenThrowsServiceNotFoundException() {
+        List<OfferedServiceBulkUpdateRequest> requests = List.of(
+                new OfferedServiceBulkUpdateRequest(INVALID_ID, OfferedServiceTestFactory.buildDefaultOfferedServiceRequest()));
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> servicesService.updateServices(requests));
+
+        assertEquals(entityNotFoundMessage(INVALID_ID), exception.getMessage());
+    }
+
     @Test
     void givenFullUpdate_whenUpdateService_thenUpdatesAndReturnsService() {
         OfferedServiceRequest updateServiceRequest = OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest();
@@ -147,6 +445,71 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
         assertEquals(entityNotFoundMessage(INVALID_ID), exception.getMessage());
     }
 
+    @Test
+    void givenPriceOnly_whenPatchService_thenUpdatesPriceAndKeepsOtherFields() {
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder().price(new BigDecimal("42.50")).build();
+        OfferedServiceResponse result = servicesService.patchService(defaultService.getId(), patchRequest);
+
+        assertThat(result.price()).isEqualByComparingTo(patchRequest.price());
+        assertEquals(defaultService.getName(), result.name()); // Unchanged
+        assertEquals(defaultService.getDescription(), result.description()); // Unchanged
+        assertEquals(defaultService.getCategory(), result.category()); // Unchanged
+        assertEquals(defaultService.getOwnerId(), result.ownerId()); // Unchanged
+        assertNotEquals(defaultService.getUpdated(), result.updated()); // Updated
+        assertThat(servicesService.getServiceById(defaultService.getId()).price()).isEqualByComparingTo(patchRequest.price());
+    }
+
+    @Test
+    void givenServiceLoadedInSameTransaction_whenPatchService_thenReturnsUpdatedRow() {
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder().name("renamed").build();
+
+        OfferedServiceResponse result = transactionTemplate.execute(status -> {
+            servicesRepository.findById(defaultService.getId()).orElseThrow();
+            return servicesService.patchService(defaultService.getId(), patchRequest);
+        });
+
+        assertEquals(patchRequest.name(), result.name());
+        assertEquals(patchRequest.name(), servicesService.getServiceById(defaultService.getId()).name());
+    }
+
+    @Test
+    void givenAllFields_whenPatchService_thenUpdatesAllFields() {
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder()
+                .name(OfferedServiceTestFactory.UPDATED_NAME)
+                .description("patched description")
+                .price(BigDecimal.TEN)
+                .category(Category.FITNESS)
+                .durationMinutes(90)
+                .build();
+        OfferedServiceResponse result = servicesService.patchService(defaultService.getId(), patchRequest);
+
+        assertEquals(patchRequest.name(), result.name());
+        assertEquals(patchRequest.description(), result.description());
+        assertThat(result.price()).isEqualByComparingTo(patchRequest.price());
+        assertEquals(patchRequest.category(), result.category());
+        assertEquals(patchRequest.durationMinutes(), result.durationMinutes());
+        assertEquals(defaultService.getOwnerId(), result.ownerId()); // Unchanged
+    }
+
+    @Test
+    void givenPatch_whenPatchService_thenUpdatedIsNotBeforeCreated() {
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder().name("renamed").build();
+        OfferedServiceResponse result = servicesService.patchService(defaultService.getId(), patchRequest);
+
+        OfferedService stored = servicesRepository.findById(defaultService.getId()).orElseThrow();
+        assertFalse(result.updated().isBefore(result.created()));
+        assertFalse(stored.getUpdated().isBefore(stored.getCreated()));
+        assertFalse(stored.getUpdated().isBefore(defaultService.getUpdated()));
+    }
+
+    @Test
+    void givenInvalidId_whenPatchService_thenThrowsServiceNotFoundException() {
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder().name("renamed").build();
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> servicesService.patchService(INVALID_ID, patchRequest));
+
+        assertEquals(entityNotFoundMessage(INVALID_ID), exception.getMessage());
+    }
+
     @Test
     void givenValidId_whenDeleteService_thenDeletesService() {
         servicesService.deleteService(defaultService.getId());
@@ -155,9 +518,51 @@ public class OfferedServicesServiceTest extends AbstractIntegrationTest {
     }
 
     @Test
-    void givenInvalidId_whenDeleteService_thenDoNothing() {
-        servicesService.deleteService(INVALID_ID);
+    void givenInvalidId_whenDeleteService_thenThrowsServiceNotFoundException() {
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> servicesService.deleteService(INVALID_ID));
+
+        assertEquals(entityNotFoundMessage(INVALID_ID), exception.getMessage());
+    }
+
+    @Test
+    void givenOtherUsersService_whenDeleteService_thenThrowsAccessDeniedAndKeepsService() {
+        initializeTestUserAuthentication("other-provider");
+
+        Exception exception = assertThrows(AccessDeniedException.class, () -> servicesService.deleteService(defaultService.getId()));
+
+        assertEquals(ErrorMessage.SERVICE_NOT_OWNER, exception.getMessage());
+        assertTrue(servicesRepository.findById(defaultService.getId()).isPresent());
+    }
+
+    @Test
+    void givenOtherUsersService_whenUpdateService_thenThrowsAccessDeniedAndKeepsService() {
+        initializeTestUserAuthentication("other-provider");
+        OfferedServiceRequest request = OfferedServiceTestFactory.buildFullUpdateOfferedServiceRequest();
+
+        assertThrows(AccessDeniedException.class, () -> servicesService.updateService(defaultService.getId(), request));
+
+        assertEquals(OfferedServiceTestFactory.DEFAULT_NAME, servicesRepository.findById(defaultService.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void givenOtherUsersService_whenPatchService_thenThrowsAccessDenied() {
+        initializeTestUserAuthentication("other-provider");
+        OfferedServicePatchRequest patchRequest = OfferedServicePatchRequest.builder().name("taken over").build();
+
+        assertThrows(AccessDeniedException.class, () -> servicesService.patchService(defaultService.getId(), patchRequest));
+    }
+
+    private OfferedService saveService(Category category, long price) {
+        OfferedService service = OfferedServiceTestFactory.buildDefaultOfferedService();
+        service.setCategory(category);
+        service.setPrice(BigDecimal.valueOf(price));
+        return servicesRepository.save(service);
+    }
 
-        assertFalse(servicesRepository.findById(INVALID_ID).isPresent());
+    private OfferedService saveService(String name, String description) {
+        OfferedService service = OfferedServiceTestFactory.buildDefaultOfferedService();
+        service.setName(name);
+        service.setDescription(description);
+        return servicesRepository.save(service);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.config.AppointmentsProperties;
+import com.mantas.appointments.dto.AppointmentResponse;
+import com.mantas.appointments.entity.AppointmentStatus;
+import com.mantas.appointments.event.AppointmentChangedEvent;
+import com.mantas.appointments.repository.AppointmentsRepository;
+import com.mantas.appointments.repository.ScheduledInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderScheduleIndexTest {
+
+    private static final String PROVIDER_ID = "provider";
+    private static final Instant NINE = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS).plus(Duration.ofHours(9));
+    private static final Instant TEN = NINE.plus(Duration.ofHours(1));
+    private static final Instant ELEVEN = TEN.plus(Duration.ofHours(1));
+    private static final Instant NOON = ELEVEN.plus(Duration.ofHours(1));
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    private ProviderScheduleIndex scheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        scheduleIndex = new ProviderScheduleIndex(appointmentsRepository, properties(Duration.ofMinutes(30)));
+        // Overridden by the tests of loading itself
+        lenient().when(appointmentsRepository.findBookedIntervals(eq(PROVIDER_ID), any()))
+                .thenReturn(List.of(new ScheduledInterval(1L, TEN, ELEVEN)));
+    }
+
+    @Test
+    void givenOverlappingInterval_whenFindOverlap_thenReturnsBookedInterval() {
+        when(appointmentsRepository.existsByIdAndStatus(1L, AppointmentStatus.BOOKED)).thenReturn(true);
+
+        Optional<ScheduledInterval> result = scheduleIndex.findOverlap(PROVIDER_ID, NINE.plus(Duration.ofMinutes(30)), TEN.plus(Duration.ofMinutes(30)));
+
+        assertEquals(Optional.of(1L), result.map(ScheduledInterval::appointmentId));
+    }
+
+    @Test
+    void givenEnclosingInterval_whenFindOverlap_thenReturnsBookedInterval() {
+        when(appointmentsRepository.existsByIdAndStatus(1L, AppointmentStatus.BOOKED)).thenReturn(true);
+
+        Optional<ScheduledInterval> result = scheduleIndex.findOverlap(PROVIDER_ID, NINE, NOON);
+
+        assertEquals(Optional.of(1L), result.map(ScheduledInterval::appointmentId));
+    }
+
+    @Test
+    void givenAdjacentIntervals_whenFindOverlap_thenReturnsEmpty() {
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, NINE, TEN).isEmpty());
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, ELEVEN, NOON).isEmpty());
+    }
+
+    @Test
+    void givenRepeatedLookups_whenFindOverlap_thenLoadsScheduleOnce() {
+        scheduleIndex.findOverlap(PROVIDER_ID, NINE, TEN);
+        scheduleIndex.findOverlap(PROVIDER_ID, ELEVEN, NOON);
+
+        verify(appointmentsRepository, times(1)).findBookedIntervals(eq(PROVIDER_ID), any());
+    }
+
+    @Test
+    void givenBookedEvent_whenFindOverlap_thenReturnsNewAppointment() {
+        when(appointmentsRepository.existsByIdAndStatus(2L, AppointmentStatus.BOOKED)).thenReturn(true);
+        scheduleIndex.findOverlap(PROVIDER_ID, NINE, TEN);
+        scheduleIndex.onAppointmentChanged(AppointmentChangedEvent.booked(appointment(2L, ELEVEN, NOON)));
+
+        Optional<ScheduledInterval> result = scheduleIndex.findOverlap(PROVIDER_ID, ELEVEN, NOON);
+
+        assertEquals(Optional.of(2L), result.map(ScheduledInterval::appointmentId));
+    }
+
+    @Test
+    void givenCancelledEvent_whenFindOverlap_thenReturnsEmpty() {
+        scheduleIndex.findOverlap(PROVIDER_ID, NINE, TEN);
+        scheduleIndex.onAppointmentChanged(AppointmentChangedEvent.cancelled(appointment(1L, TEN, ELEVEN)));
+
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN).isEmpty());
+    }
+
+    @Test
+    void givenAppointmentCancelledElsewhere_whenFindOverlap_thenDropsItAndReturnsEmpty() {
+        when(appointmentsRepository.existsByIdAndStatus(1L, AppointmentStatus.BOOKED)).thenReturn(false);
+
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN).isEmpty());
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN).isEmpty());
+
+        verify(appointmentsRepository, times(1)).existsByIdAndStatus(1L, AppointmentStatus.BOOKED);
+    }
+
+    @Test
+    void givenCancellationCommittedWhileLoading_whenFindOverlap_thenReturnsEmpty() {
+        when(appointmentsRepository.findBookedIntervals(eq(PROVIDER_ID), any())).thenAnswer(invocation -> {
+            // Committed after the query read the appointment as booked
+            scheduleIndex.onAppointmentChanged(AppointmentChangedEvent.cancelled(appointment(1L, TEN, ELEVEN)));
+            return List.of(new ScheduledInterval(1L, TEN, ELEVEN));
+        });
+
+        assertTrue(scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN).isEmpty());
+
+        verify(appointmentsRepository, never()).existsByIdAndStatus(any(), any());
+    }
+
+    @Test
+    void givenFailedLoad_whenFindOverlap_thenLoadsAgainOnNextLookup() {
+        when(appointmentsRepository.findBookedIntervals(eq(PROVIDER_ID), any()))
+                .thenThrow(new IllegalStateException("Connection lost"))
+                .thenReturn(List.of(new ScheduledInterval(1L, TEN, ELEVEN)));
+        when(appointmentsRepository.existsByIdAndStatus(1L, AppointmentStatus.BOOKED)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN));
+
+        assertEquals(Optional.of(1L), scheduleIndex.findOverlap(PROVIDER_ID, TEN, ELEVEN).map(ScheduledInterval::appointmentId));
+    }
+
+    @Test
+    void givenExpiredSchedule_whenFindOverlap_thenLoadsScheduleAgain() {
+        scheduleIndex = new ProviderScheduleIndex(appointmentsRepository, properties(Duration.ZERO));
+
+        scheduleIndex.findOverlap(PROVIDER_ID, NINE, TEN);
+        scheduleIndex.findOverlap(PROVIDER_ID, ELEVEN, NOON);
+
+        verify(appointmentsRepository, times(2)).findBookedIntervals(eq(PROVIDER_ID), any());
+    }
+
+    private static AppointmentsProperties properties(Duration expireAfterAccess) {
+        return new AppointmentsProperties(Duration.ofMinutes(60), 31,
+                new AppointmentsProperties.Booking(256, Duration.ofSeconds(5), 3, Duration.ofMillis(20)),
+                new AppointmentsProperties.ScheduleIndex(10_000, expireAfterAccess));
+    }
+
+    private static AppointmentResponse appointment(Long id, Instant start, Instant end) {
+        return AppointmentResponse.builder()
+                .id(id)
+                .providerId(PROVIDER_ID)
+                .startTime(start)
+                .endTime(end)
+                .status(AppointmentStatus.BOOKED)
+                .build();
+    }
+}
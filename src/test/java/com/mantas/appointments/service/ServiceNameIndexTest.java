@@ -0,0 +1,219 @@
+package com.mantas.appointments.service;
+
+import com.mantas.appointments.dto.OfferedServiceResponse;
+import com.mantas.appointments.dto.ServiceSuggestion;
+import com.mantas.appointments.entity.Category;
+import com.mantas.appointments.event.OfferedServiceChangedEvent;
+import com.mantas.appointments.repository.OfferedServicesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceNameIndexTest {
+
+    @Mock
+    private OfferedServicesRepository servicesRepository;
+
+    @InjectMocks
+    private ServiceNameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(servicesRepository.streamNames()).thenReturn(Stream.of(
+                new ServiceSuggestion(1L, "Haircut", Category.HAIRCARE),
+                new ServiceSuggestion(2L, "Hair coloring", Category.HAIRCARE),
+                new ServiceSuggestion(3L, "Épilation", Category.SKINCARE),
+                new ServiceSuggestion(4L, "Hand massage", Category.MASSAGE)
+        ));
+        nameIndex.load();
+    }
+
+    @Test
+    void givenPrefix_whenSuggest_thenReturnsMatchesInNameOrder() {
+        List<ServiceSuggestion> result = nameIndex.suggest("hai", null, 10);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    void givenUnaccentedUpperCasePrefix_whenSuggest_thenMatchesAccentedName() {
+        List<ServiceSuggestion> result = nameIndex.suggest("EPI", null, 10);
+
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    void givenCategory_whenSuggest_thenReturnsOnlyMatchesOfCategory() {
+        List<ServiceSuggestion> result = nameIndex.suggest("ha", Category.MASSAGE, 10);
+
+        assertEquals(List.of(4L), ids(result));
+    }
+
+    @Test
+    void givenLimit_whenSuggest_thenReturnsAtMostLimitMatches() {
+        List<ServiceSuggestion> result = nameIndex.suggest("h", null, 2);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    void givenBlankPrefix_whenSuggest_thenReturnsNoMatches() {
+        assertTrue(nameIndex.suggest(" ", null, 10).isEmpty());
+    }
+
+    @Test
+    void givenCreatedService_whenSuggest_thenReturnsNewService() {
+        nameIndex.onServiceChanged(OfferedServiceChangedEvent.created(response(5L, "Hair extensions", Category.HAIRCARE)));
+
+        List<ServiceSuggestion> result = nameIndex.suggest("hair e", Category.HAIRCARE, 10);
+
+        assertEquals(List.of(5L), ids(result));
+    }
+
+    @Test
+    void givenRenamedService_whenSuggest_thenMatchesOnlyNewName() {
+        nameIndex.onServiceChanged(OfferedServiceChangedEvent.updated(response(1L, "Beard trim", Category.HAIRCARE)));
+
+        assertEquals(List.of(2L), ids(nameIndex.suggest("hair", null, 10)));
+        assertEquals(List.of(1L), ids(nameIndex.suggest("beard", Category.HAIRCARE, 10)));
+    }
+
+    @Test
+    void givenDeletedService_whenSuggest_thenSkipsDeletedService() {
+        nameIndex.onServiceChanged(OfferedServiceChangedEvent.deleted(1L));
+
+        assertEquals(List.of(2L), ids(nameIndex.suggest("hair", Category.HAIRCARE, 10)));
+    }
+
+    @Test
+    void givenServiceRenamedElsewhere_whenApply_thenMatchesOnlyNewName() {
+        nameIndex.apply(List.of(new ServiceSuggestion(1L, "Beard trim", Category.HAIRCARE)));
+
+        assertEquals(List.of(2L), ids(nameIndex.suggest("hair", null, 10)));
+        assertEquals(List.of(1L), ids(nameIndex.suggest("beard", Category.HAIRCARE, 10)));
+    }
+
+    @Test
+    void givenServicesCreatedAndDeletedElsewhere_whenApply_thenAppliesWholeBatch() {
+        nameIndex.apply(List.of(
+                new ServiceSuggestion(5L, "Hair extensions", Category.HAIRCARE),
+                new ServiceSuggestion(1L, null, null)
+        ));
+
+        assertEquals(List.of(2L, 5L), ids(nameIndex.suggest("hair", Category.HAIRCARE, 10)));
+    }
+
+    @Test
+    void givenBulkCreateRunning_whenSuggest_thenEverySuggestionIsConsistent() throws Exception {
+        int services = 10_000;
+        List<OfferedServiceResponse> created = IntStream.range(0, services)
+                .mapToObj(i -> response(100L + i, "Bulk service %05d".formatted(i), Category.MASSAGE))
+                .toList();
+        Set<Long> createdIds = created.stream().map(OfferedServiceResponse::id).collect(Collectors.toSet());
+
+        List<ServiceSuggestion> last;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // The change events of this instance and the notifications of the same writes race each other
+            Future<?> events = executor.submit(() -> created.forEach(service ->
+                    nameIndex.onServiceChanged(OfferedServiceChangedEvent.created(service))));
+            Future<?> notifications = executor.submit(() -> {
+                for (int from = 0; from < services; from += 500) {
+                    nameIndex.apply(created.subList(from, from + 500).stream()
+                            .map(service -> new ServiceSuggestion(service.id(), service.name(), service.category()))
+                            .toList());
+                }
+            });
+
+            int previousSize = 0;
+            do {
+                List<ServiceSuggestion> result = nameIndex.suggest("bulk", Category.MASSAGE, services);
+                List<Long> resultIds = ids(result);
+                List<String> names = result.stream().map(ServiceSuggestion::name).toList();
+
+                assertTrue(createdIds.containsAll(resultIds));
+                assertEquals(resultIds.size(), Set.copyOf(resultIds).size(), "Suggested a service twice");
+                assertEquals(names.stream().sorted().toList(), names, "Suggestions out of name order");
+                // Services are only added, so no suggestion ever disappears again
+                assertTrue(result.size() >= previousSize, "Suggestions shrank while services were only added");
+                previousSize = result.size();
+            } while (!events.isDone() || !notifications.isDone());
+            events.get();
+            notifications.get();
+            last = nameIndex.suggest("bulk", Category.MASSAGE, services);
+        }
+
+        assertEquals(createdIds, Set.copyOf(ids(last)));
+    }
+
+    @Test
+    void givenLoadWaitingOnDatabase_whenServiceCreatedAndSuggest_thenNeitherWaitsForLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch databaseResponds = new CountDownLatch(1);
+        when(servicesRepository.streamNames()).thenReturn(Stream.of(1L, 2L).map(id -> {
+            if (id == 2L) {
+                loading.countDown();
+                await(databaseResponds);
+            }
+            return new ServiceSuggestion(id, id == 1L ? "Haircut" : "Hair coloring", Category.HAIRCARE);
+        }));
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> load = executor.submit(nameIndex::load);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                nameIndex.onServiceChanged(OfferedServiceChangedEvent.created(response(5L, "Hair extensions", Category.HAIRCARE)));
+                assertEquals(List.of(2L, 5L, 1L), ids(nameIndex.suggest("hair", null, 10)));
+            });
+            assertFalse(load.isDone());
+
+            databaseResponds.countDown();
+            load.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(2L, 5L, 1L), ids(nameIndex.suggest("hair", null, 10)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static OfferedServiceResponse response(Long id, String name, Category category) {
+        return OfferedServiceResponse.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .build();
+    }
+
+    private static List<Long> ids(List<ServiceSuggestion> suggestions) {
+        return suggestions.stream().map(ServiceSuggestion::id).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.mantas.appointments.service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mantas.appointments.service.utils.SlotBitmap.SLOTS_PER_DAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlotBitmapTest {
+
+    @Test
+    void givenRangeAcrossWords_whenSet_thenSetsExactlyTheRange() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+
+        bitmap.set(60, 130);
+
+        assertEquals(List.of(60, 129), List.of(bitmap.nextSetBit(0), bitmap.nextClearBit(60) - 1));
+        assertEquals(-1, bitmap.nextSetBit(130));
+    }
+
+    @Test
+    void givenSetRange_whenClearInside_thenSplitsRange() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+        bitmap.set(0, SLOTS_PER_DAY);
+
+        bitmap.clear(100, 200);
+
+        assertEquals(100, bitmap.nextClearBit(0));
+        assertEquals(200, bitmap.nextSetBit(100));
+        assertEquals(SLOTS_PER_DAY, bitmap.nextClearBit(200));
+    }
+
+    @Test
+    void givenBitmap_whenRoundTrippedThroughBytes_thenIsEqual() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+        bitmap.set(3, 17);
+        bitmap.set(250, SLOTS_PER_DAY);
+
+        byte[] bytes = bitmap.toBytes();
+
+        assertEquals(SlotBitmap.BYTES, bytes.length);
+        assertEquals(bitmap, SlotBitmap.fromBytes(bytes));
+        assertArrayEquals(bytes, SlotBitmap.fromBytes(bytes).toBytes());
+    }
+
+    @Test
+    void givenRunsOfDifferentLengths_whenRunStarts_thenReturnsStartsOfLongEnoughRuns() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+        bitmap.set(10, 13); // 3 slots
+        bitmap.set(60, 72); // 12 slots, crossing the first word boundary
+
+        SlotBitmap starts = bitmap.runStarts(12);
+
+        assertEquals(List.of(60), setBits(starts));
+        assertEquals(List.of(10, 60, 61, 62, 63, 64, 65, 66, 67, 68, 69), setBits(bitmap.runStarts(3)));
+    }
+
+    @Test
+    void givenFullDay_whenRunStarts_thenLastStartLeavesRoomForRun() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+        bitmap.set(0, SLOTS_PER_DAY);
+
+        List<Integer> starts = setBits(bitmap.runStarts(100));
+
+        assertEquals(SLOTS_PER_DAY - 100 + 1, starts.size());
+        assertEquals(SLOTS_PER_DAY - 100, starts.getLast());
+    }
+
+    @Test
+    void givenRunLongerThanAvailable_whenRunStarts_thenReturnsEmpty() {
+        SlotBitmap bitmap = SlotBitmap.empty();
+        bitmap.set(0, 50);
+
+        assertEquals(-1, bitmap.runStarts(51).nextSetBit(0));
+    }
+
+    private static List<Integer> setBits(SlotBitmap bitmap) {
+        List<Integer> bits = new ArrayList<>();
+        for (int slot = bitmap.nextSetBit(0); slot >= 0; slot = bitmap.nextSetBit(slot + 1)) {
+            bits.add(slot);
+        }
+        return bits;
+    }
+}
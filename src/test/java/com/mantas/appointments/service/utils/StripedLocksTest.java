@@ -0,0 +1,46 @@
+package com.mantas.appointments.service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedLocksTest {
+
+    @Test
+    void givenStripeCount_whenCreated_thenRoundsUpToPowerOfTwo() {
+        assertEquals(1, new StripedLocks(1).size());
+        assertEquals(256, new StripedLocks(256).size());
+        assertEquals(512, new StripedLocks(257).size());
+    }
+
+    @Test
+    void givenEqualKeys_whenGet_thenReturnsSameLock() {
+        StripedLocks locks = new StripedLocks(64);
+
+        assertSame(locks.get(new String("provider")), locks.get("provider"));
+    }
+
+    @Test
+    void givenManyKeys_whenGet_thenSpreadsThemOverStripes() {
+        StripedLocks locks = new StripedLocks(16);
+        Set<Lock> used = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            used.add(locks.get("provider-" + i));
+        }
+
+        assertTrue(used.size() > 12);
+    }
+
+    @Test
+    void givenNonPositiveStripeCount_whenCreated_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLocks(0));
+    }
+}
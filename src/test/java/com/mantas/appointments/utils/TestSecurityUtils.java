@@ -36,8 +36,17 @@ public class TestSecurityUtils {
      * The default user has a predefined owner ID.
      */
     public static void initializeDefaultTestUserAuthentication() {
+        initializeTestUserAuthentication(DEFAULT_OWNER_ID);
+    }
+
+    /**
+     * Initializes the security context with a test user authentication.
+     *
+     * @param userId the user ID, the subject of the user's JWT
+     */
+    public static void initializeTestUserAuthentication(String userId) {
         Jwt jwt = Mockito.mock(Jwt.class);
-        Mockito.when(jwt.getSubject()).thenReturn(DEFAULT_OWNER_ID);
+        Mockito.when(jwt.getSubject()).thenReturn(userId);
         Authentication authentication = Mockito.mock(Authentication.class);
         Mockito.when(authentication.getPrincipal()).thenReturn(jwt);
         SecurityContextHolder.getContext().setAuthentication(authentication);